@@ -0,0 +1,130 @@
+package org.example.library.benchmarks;
+
+import org.example.library.index.AuthorIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class AuthorIndexBenchmark {
+    private static final String[] SYLLABLES = {"an", "bel", "cor", "da", "el", "fer", "gu", "hal", "is", "jo", "ka", "lin", "mar", "no", "or", "pe", "qui", "ros", "sa", "tor", "ul", "ve", "wen", "xa", "yo", "zel"};
+    private static final int LIMIT = 10;
+
+    @Param({"1000000"})
+    private int authors;
+
+    @Param({"1", "2", "4"})
+    private int prefixLength;
+
+    private String[] names;
+    private String[] prefixes;
+    private AuthorIndex index;
+    private TreeMap<String, Integer> treeMap;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        Map<String, Integer> unique = new HashMap<>();
+        while (unique.size() < authors) {
+            unique.put(word(random) + " " + word(random), 1 + random.nextInt(20));
+        }
+        names = unique.keySet().toArray(String[]::new);
+
+        long before = usedMemory();
+        AuthorIndex.Builder builder = AuthorIndex.builder();
+        unique.forEach(builder::add);
+        index = builder.build();
+        long indexBytes = usedMemory() - before;
+
+        before = usedMemory();
+        treeMap = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        unique.forEach(treeMap::put);
+        long treeMapBytes = usedMemory() - before;
+
+        System.out.printf("%nAuthorIndex: %d authors, estimated %d MiB, measured %d MiB; TreeMap<String, Integer> baseline measured %d MiB%n",
+                index.size(), index.estimatedBytes() >> 20, indexBytes >> 20, treeMapBytes >> 20);
+
+        prefixes = new String[1024];
+        for (int i = 0; i < prefixes.length; i++) {
+            String name = names[random.nextInt(names.length)];
+            int start = random.nextBoolean() ? 0 : name.indexOf(' ') + 1;
+            prefixes[i] = name.substring(start, Math.min(name.length(), start + prefixLength));
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public void search(Cursor cursor, Blackhole blackhole) {
+        int[] ordinals = new int[LIMIT];
+        int found = index.search(prefixes[cursor.next++ & (prefixes.length - 1)], ordinals, ordinal -> true);
+        for (int i = 0; i < found; i++) {
+            blackhole.consume(index.titleCount(ordinals[i]));
+        }
+    }
+
+    @Benchmark
+    public void searchAndMaterialize(Cursor cursor, Blackhole blackhole) {
+        int[] ordinals = new int[LIMIT];
+        int found = index.search(prefixes[cursor.next++ & (prefixes.length - 1)], ordinals, ordinal -> true);
+        for (int i = 0; i < found; i++) {
+            blackhole.consume(index.author(ordinals[i]));
+        }
+    }
+
+    @Benchmark
+    public void treeMapFirstNameOnly(Cursor cursor, Blackhole blackhole) {
+        String prefix = prefixes[cursor.next++ & (prefixes.length - 1)];
+        int found = 0;
+        for (Map.Entry<String, Integer> entry : treeMap.tailMap(prefix, true).entrySet()) {
+            if (found++ == LIMIT || !entry.getKey().regionMatches(true, 0, prefix, 0, prefix.length())) {
+                break;
+            }
+            blackhole.consume(entry.getValue());
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public AuthorIndex build() {
+        AuthorIndex.Builder builder = AuthorIndex.builder();
+        for (String name : names) {
+            builder.add(name, 1);
+        }
+        return builder.build();
+    }
+
+    private static String word(Random random) {
+        StringBuilder word = new StringBuilder();
+        int syllables = 2 + random.nextInt(3);
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        word.setCharAt(0, Character.toUpperCase(word.charAt(0)));
+        return word.toString();
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
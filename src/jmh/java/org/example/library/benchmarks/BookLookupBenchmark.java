@@ -0,0 +1,104 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.example.library.services.BookService;
+import org.example.library.services.BorrowingsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class BookLookupBenchmark {
+    private static final int BOOKS = 1_000;
+    private static final int WRITE_PERCENT = 5;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private BorrowingsService borrowingsService;
+    private BookRepository bookRepository;
+    private MemberRepository memberRepository;
+    private TransactionTemplate transactionTemplate;
+    private long firstBookId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookService = context.getBean(BookService.class);
+        borrowingsService = context.getBean(BorrowingsService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        firstBookId = Long.MAX_VALUE;
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Lookup book " + i);
+            book.setAuthor("Bench Author");
+            book.setAmount(1_000_000);
+            firstBookId = Math.min(firstBookId, bookRepository.save(book).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    public static class Borrower {
+        private Long memberId;
+
+        @Setup(Level.Trial)
+        public void setUp(BookLookupBenchmark benchmark) {
+            Member member = new Member();
+            member.setName("Lookup Member");
+            memberId = benchmark.memberRepository.save(member).getId();
+        }
+    }
+
+    @Benchmark
+    public Object cachedReadMix(Borrower borrower) {
+        Long bookId = randomBookId();
+        if (isWrite()) {
+            write(borrower, bookId);
+            return null;
+        }
+        return bookService.getBookById(bookId);
+    }
+
+    @Benchmark
+    public Object uncachedReadMix(Borrower borrower) {
+        Long bookId = randomBookId();
+        if (isWrite()) {
+            write(borrower, bookId);
+            return null;
+        }
+        return transactionTemplate.execute(status -> bookRepository.findById(bookId).orElseThrow());
+    }
+
+    private void write(Borrower borrower, Long bookId) {
+        borrowingsService.addBorrowings(borrower.memberId, List.of(bookId));
+        borrowingsService.returnBooks(borrower.memberId, List.of(bookId));
+    }
+
+    private Long randomBookId() {
+        return firstBookId + ThreadLocalRandom.current().nextInt(BOOKS);
+    }
+
+    private static boolean isWrite() {
+        return ThreadLocalRandom.current().nextInt(100) < WRITE_PERCENT;
+    }
+}
@@ -0,0 +1,99 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.example.library.services.BorrowingsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BorrowingsBenchmark {
+    private static final int BOOKS = 15;
+
+    private ConfigurableApplicationContext context;
+    private BorrowingsService borrowingsService;
+    private BookRepository bookRepository;
+    private MemberRepository memberRepository;
+    private TransactionTemplate transactionTemplate;
+    private Long memberId;
+    private List<Long> bookIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--BOOK_LIMIT=100");
+        borrowingsService = context.getBean(BorrowingsService.class);
+        bookRepository = context.getBean(BookRepository.class);
+        memberRepository = context.getBean(MemberRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        Member member = new Member();
+        member.setName("Benchmark Member");
+        memberId = memberRepository.save(member).getId();
+
+        bookIds = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Benchmark book " + i);
+            book.setAuthor("Bench Author");
+            book.setAmount(1_000_000);
+            bookIds.add(bookRepository.save(book).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void borrowAndReturn() {
+        Long bookId = bookIds.get(0);
+        borrowingsService.addBorrowing(memberId, bookId);
+        borrowingsService.returnBook(memberId, bookId);
+    }
+
+    @Benchmark
+    public void entityGraphBorrowAndReturn() {
+        Long bookId = bookIds.get(0);
+        transactionTemplate.executeWithoutResult(status -> {
+            Book book = bookRepository.findById(bookId).orElseThrow();
+            Member member = memberRepository.findWithBooksById(memberId).orElseThrow();
+            if (member.getBooks().contains(book) || book.getAmount() <= 0) {
+                throw new IllegalStateException("Book cannot be borrowed");
+            }
+            member.addBook(book);
+            book.decrementAmount();
+        });
+        borrowingsService.returnBook(memberId, bookId);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(5)
+    public void batchOfFivePerItem() {
+        borrowAndReturnBatch(5);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(15)
+    public void batchOfFifteenPerItem() {
+        borrowAndReturnBatch(15);
+    }
+
+    private void borrowAndReturnBatch(int size) {
+        List<Long> batch = bookIds.subList(0, size);
+        borrowingsService.addBorrowings(memberId, batch);
+        borrowingsService.returnBooks(memberId, batch);
+    }
+}
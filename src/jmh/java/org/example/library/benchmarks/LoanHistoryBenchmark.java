@@ -0,0 +1,62 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.example.library.services.BorrowingsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoanHistoryBenchmark {
+
+    @Param({"false", "true"})
+    private boolean history;
+
+    private ConfigurableApplicationContext context;
+    private BorrowingsService borrowingsService;
+    private Long memberId;
+    private Long bookId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--library.loan-history.enabled=" + history);
+        context.getBean(JdbcTemplate.class).execute("create table if not exists loan_events (" +
+                "id bigint generated by default as identity primary key, " +
+                "event_type varchar(16) not null, " +
+                "member_id bigint not null, " +
+                "book_id bigint not null, " +
+                "occurred_at timestamp with time zone not null)");
+        borrowingsService = context.getBean(BorrowingsService.class);
+
+        Member member = new Member();
+        member.setName("Benchmark Member");
+        memberId = context.getBean(MemberRepository.class).save(member).getId();
+
+        Book book = new Book();
+        book.setTitle("Benchmark book");
+        book.setAuthor("Bench Author");
+        book.setAmount(1_000_000);
+        bookId = context.getBean(BookRepository.class).save(book).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void borrowAndReturn() {
+        borrowingsService.addBorrowing(memberId, bookId);
+        borrowingsService.returnBook(memberId, bookId);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example.library.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.example.library.services.BorrowingsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberBooksBenchmark {
+    private static final int BORROWED_BOOKS = 1_000;
+    private static final int BATCH = 100;
+    private static final String MEMBER_NAME = "Heavy Reader";
+
+    private ConfigurableApplicationContext context;
+    private BorrowingsService borrowingsService;
+    private EntityManagerFactory entityManagerFactory;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--BOOK_LIMIT=" + (BORROWED_BOOKS + 1));
+        borrowingsService = context.getBean(BorrowingsService.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+
+        Member member = new Member();
+        member.setName(MEMBER_NAME);
+        Long memberId = memberRepository.save(member).getId();
+
+        List<Book> books = new ArrayList<>(BORROWED_BOOKS);
+        for (int i = 0; i < BORROWED_BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Borrowed book " + i);
+            book.setAuthor("Bench Author");
+            book.setAmount(1);
+            books.add(book);
+        }
+        List<Long> bookIds = bookRepository.saveAll(books).stream().map(Book::getId).toList();
+        for (int from = 0; from < bookIds.size(); from += BATCH) {
+            borrowingsService.addBorrowings(memberId, bookIds.subList(from, Math.min(from + BATCH, bookIds.size())));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] projection() throws Exception {
+        return objectMapper.writeValueAsBytes(borrowingsService.findBorrowedBooksByMemberName(MEMBER_NAME));
+    }
+
+    @Benchmark
+    public byte[] fetchJoinedEntities() throws Exception {
+        Set<Book> books;
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            books = entityManager.createQuery("select distinct m from Member m left join fetch m.books where m.name = :name", Member.class)
+                    .setParameter("name", MEMBER_NAME)
+                    .getSingleResult()
+                    .getBooks();
+        } finally {
+            entityManager.close();
+        }
+        return objectMapper.writeValueAsBytes(books);
+    }
+}
@@ -0,0 +1,120 @@
+package org.example.library.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.example.library.dto.MemberProfileDto;
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.metrics.SqlStatementCounter;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.example.library.services.BorrowingsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemberLookupBenchmark {
+
+    @Param({"0", "10"})
+    private int borrowedBooks;
+
+    private ConfigurableApplicationContext context;
+    private MemberRepository memberRepository;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+    private SqlStatementCounter sqlStatementCounter;
+    private Long memberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--spring.jpa.properties.hibernate.cache.use_second_level_cache=false");
+        memberRepository = context.getBean(MemberRepository.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        objectMapper = context.getBean(ObjectMapper.class);
+        sqlStatementCounter = context.getBean(SqlStatementCounter.class);
+
+        Member member = new Member();
+        member.setName("Lookup Member");
+        memberId = memberRepository.save(member).getId();
+
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        List<Long> bookIds = new ArrayList<>();
+        for (int i = 0; i < borrowedBooks; i++) {
+            Book book = new Book();
+            book.setTitle("Lookup book " + i);
+            book.setAuthor("Bench Author");
+            book.setAmount(1);
+            bookIds.add(bookRepository.save(book).getId());
+        }
+        if (!bookIds.isEmpty()) {
+            context.getBean(BorrowingsService.class).addBorrowings(memberId, bookIds);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long lookups;
+    }
+
+    @Benchmark
+    public byte[] joinFetchLookup(Statements counter) throws JsonProcessingException {
+        sqlStatementCounter.reset();
+        Member member = transactionTemplate.execute(status -> entityManager
+                .createQuery("select distinct m from Member m left join fetch m.books where m.id = :id", Member.class)
+                .setParameter("id", memberId)
+                .getSingleResult());
+        return serialize(member, counter);
+    }
+
+    @Benchmark
+    public byte[] slimLookup(Statements counter) throws JsonProcessingException {
+        sqlStatementCounter.reset();
+        MemberProfileDto member = transactionTemplate.execute(status -> memberRepository.findById(memberId)
+                .map(MemberProfileDto::of)
+                .orElseThrow());
+        return serialize(member, counter);
+    }
+
+    @Benchmark
+    public byte[] entityGraphLookup(Statements counter) throws JsonProcessingException {
+        sqlStatementCounter.reset();
+        Member member = transactionTemplate.execute(status -> memberRepository.findWithBooksById(memberId).orElseThrow());
+        return serialize(member, counter);
+    }
+
+    @Benchmark
+    public boolean deleteGuard(Statements counter) {
+        sqlStatementCounter.reset();
+        boolean blocked = Boolean.TRUE.equals(transactionTemplate.execute(status -> memberRepository.countBorrowedBooks(memberId) > 0));
+        counter.statements += sqlStatementCounter.count();
+        counter.lookups++;
+        return blocked;
+    }
+
+    private byte[] serialize(Object member, Statements counter) throws JsonProcessingException {
+        byte[] json = objectMapper.writeValueAsBytes(member);
+        counter.statements += sqlStatementCounter.count();
+        counter.lookups++;
+        return json;
+    }
+}
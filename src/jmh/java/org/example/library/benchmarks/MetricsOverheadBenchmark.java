@@ -0,0 +1,47 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.Book;
+import org.example.library.repositories.BookRepository;
+import org.example.library.services.BookService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    @Param({"false", "true"})
+    private boolean instrumented;
+
+    private ConfigurableApplicationContext context;
+    private BookService bookService;
+    private Long bookId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("--library.metrics.services.enabled=" + instrumented);
+        bookService = context.getBean(BookService.class);
+        Book book = new Book();
+        book.setTitle("Metrics book");
+        book.setAuthor("Bench Author");
+        book.setAmount(1);
+        bookId = context.getBean(BookRepository.class).save(book).getId();
+        bookService.getBookById(bookId);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Book cachedLookup() {
+        return bookService.getBookById(bookId);
+    }
+}
@@ -0,0 +1,91 @@
+package org.example.library.benchmarks;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.entities.Book;
+import org.example.library.repositories.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PaginationBenchmark {
+    private static final int BOOKS = 200_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int INSERT_CHUNK = 5_000;
+
+    @Param({"0", "10000", "100000", "199000"})
+    private int depth;
+
+    private ConfigurableApplicationContext context;
+    private BookRepository bookRepository;
+    private EntityManagerFactory entityManagerFactory;
+    private long afterId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        bookRepository = context.getBean(BookRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        TransactionTemplate transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        for (int start = 0; start < BOOKS; start += INSERT_CHUNK) {
+            int first = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Book> books = new ArrayList<>(INSERT_CHUNK);
+                for (int i = first; i < first + INSERT_CHUNK; i++) {
+                    Book book = new Book();
+                    book.setTitle("Page book " + i);
+                    book.setAuthor("Bench Author");
+                    book.setAmount(1);
+                    books.add(book);
+                }
+                bookRepository.saveAll(books);
+            });
+        }
+
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            afterId = depth == 0 ? 0L : entityManager.createQuery("select b.id from Book b order by b.id", Long.class)
+                    .setFirstResult(depth - 1)
+                    .setMaxResults(1)
+                    .getSingleResult();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<BookSummaryDto> keyset() {
+        return bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(PAGE_SIZE));
+    }
+
+    @Benchmark
+    public List<BookSummaryDto> offset() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery("select new org.example.library.dto.BookSummaryDto(b.id, b.title, b.author, b.amount) from Book b order by b.id", BookSummaryDto.class)
+                    .setFirstResult(depth)
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.MemberTier;
+import org.example.library.policy.BorrowingPolicy;
+import org.example.library.policy.CompiledBorrowingPolicy;
+import org.example.library.policy.PolicyViolation;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PolicyEvaluationBenchmark {
+    private static final MemberTier[] TIERS = MemberTier.values();
+    private static final String AUTHOR = "Bench Author";
+
+    @Param({"0", "100", "10000"})
+    private int titleRules;
+
+    @Param({"0", "50"})
+    private int blackoutRules;
+
+    private CompiledBorrowingPolicy policy;
+    private String[] titles;
+    private long now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<BorrowingPolicy.TitleLimit> titleLimits = new ArrayList<>();
+        for (int i = 0; i < titleRules; i++) {
+            titleLimits.add(new BorrowingPolicy.TitleLimit("Title " + i, AUTHOR, 5));
+        }
+        Instant start = Instant.now();
+        List<BorrowingPolicy.Blackout> blackouts = new ArrayList<>();
+        for (int i = 0; i < blackoutRules; i++) {
+            Instant from = start.plusSeconds(3600L * (i - blackoutRules / 2));
+            blackouts.add(new BorrowingPolicy.Blackout(from, from.plusSeconds(1800),
+                    i % 2 == 0 ? Set.of("Title " + i) : null,
+                    i % 3 == 0 ? Set.of(MemberTier.STANDARD) : null));
+        }
+        policy = CompiledBorrowingPolicy.compile(new BorrowingPolicy(10,
+                Map.of(MemberTier.PREMIUM, 20, MemberTier.STAFF, 50), titleLimits, blackouts), 10);
+
+        titles = new String[1024];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = "Title " + (i * 7);
+        }
+        now = start.toEpochMilli();
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public PolicyViolation evaluate(Cursor cursor) {
+        int i = cursor.next++ & (titles.length - 1);
+        String title = policy.needsTitle() ? titles[i] : null;
+        long titleLoans = policy.limitsTitle(title, AUTHOR) ? i & 7 : 0;
+        return policy.evaluate(TIERS[i % TIERS.length], i % 12, title, AUTHOR, titleLoans, now);
+    }
+
+    @Benchmark
+    public CompiledBorrowingPolicy compile() {
+        return CompiledBorrowingPolicy.compile(policy.getDefinition(), 10);
+    }
+}
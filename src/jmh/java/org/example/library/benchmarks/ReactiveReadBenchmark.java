@@ -0,0 +1,99 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.example.library.services.BorrowingsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ReactiveReadBenchmark {
+    private static final int CLIENTS = 5_000;
+    private static final int BORROWED_BOOKS = 20;
+
+    @Param({"/library/books/member/Bench%20Reader", "/reactive/library/books/member/Bench%20Reader", "/book/{id}", "/reactive/book/{id}"})
+    private String path;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startServer(
+                "--BOOK_LIMIT=100",
+                "--server.tomcat.max-connections=10000",
+                "--server.tomcat.accept-count=1000",
+                "--spring.datasource.hikari.maximum-pool-size=20",
+                "--spring.datasource.hikari.connection-timeout=60s",
+                "--spring.r2dbc.pool.max-size=20"
+        );
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        MemberRepository memberRepository = context.getBean(MemberRepository.class);
+        BorrowingsService borrowingsService = context.getBean(BorrowingsService.class);
+
+        Member member = new Member();
+        member.setName("Bench Reader");
+        Long memberId = memberRepository.save(member).getId();
+        Long firstBookId = null;
+        for (int i = 0; i < BORROWED_BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Reactive book " + i);
+            book.setAuthor("Bench Author");
+            book.setAmount(10);
+            Long bookId = bookRepository.save(book).getId();
+            borrowingsService.addBorrowing(memberId, bookId);
+            if (firstBookId == null) {
+                firstBookId = bookId;
+            }
+        }
+
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        String uri = "http://localhost:" + BenchmarkContext.port(context) + path.replace("{id}", firstBookId.toString());
+        request = HttpRequest.newBuilder(URI.create(uri)).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CLIENTS)
+    public void concurrentClients() throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> responses = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                responses.add(clients.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode()));
+            }
+            for (Future<Integer> response : responses) {
+                if (response.get() != 200) {
+                    throw new IllegalStateException("Unexpected status " + response.get());
+                }
+            }
+        }
+    }
+}
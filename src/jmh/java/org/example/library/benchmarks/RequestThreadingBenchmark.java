@@ -0,0 +1,121 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.Book;
+import org.example.library.repositories.BookRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestThreadingBenchmark {
+    static final int CLIENTS = 5_000;
+    private static final int BOOKS = 1_000;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startServer(
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--server.tomcat.max-connections=10000",
+                "--server.tomcat.accept-count=1000",
+                "--spring.datasource.hikari.maximum-pool-size=32",
+                "--spring.datasource.hikari.connection-timeout=60s"
+        );
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        List<Book> books = new ArrayList<>(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book();
+            book.setTitle("Threading book " + i);
+            book.setAuthor("Bench Author");
+            book.setAmount(1);
+            books.add(book);
+        }
+        bookRepository.saveAll(books);
+
+        httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(30))
+                .build();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + BenchmarkContext.port(context) + "/book?size=20")).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        httpClient.close();
+        context.close();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(CLIENTS)
+    public void concurrentClients() throws Exception {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<Integer>> responses = new ArrayList<>(CLIENTS);
+            for (int i = 0; i < CLIENTS; i++) {
+                responses.add(clients.submit(this::get));
+            }
+            for (Future<Integer> response : responses) {
+                if (response.get() != 200) {
+                    throw new IllegalStateException("Unexpected status " + response.get());
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int requestUnderLoad(BackgroundLoad load) throws Exception {
+        return get();
+    }
+
+    private int get() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @State(Scope.Benchmark)
+    public static class BackgroundLoad {
+        private ExecutorService clients;
+
+        @Setup(Level.Iteration)
+        public void start(RequestThreadingBenchmark benchmark) {
+            clients = Executors.newVirtualThreadPerTaskExecutor();
+            for (int i = 1; i < CLIENTS; i++) {
+                clients.submit(() -> {
+                    while (!Thread.currentThread().isInterrupted()) {
+                        benchmark.get();
+                    }
+                    return null;
+                });
+            }
+        }
+
+        @TearDown(Level.Iteration)
+        public void stop() throws InterruptedException {
+            clients.shutdownNow();
+            clients.awaitTermination(1, TimeUnit.MINUTES);
+        }
+    }
+}
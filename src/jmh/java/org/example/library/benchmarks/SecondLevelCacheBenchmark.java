@@ -0,0 +1,81 @@
+package org.example.library.benchmarks;
+
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.metrics.SqlStatementCounter;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.example.library.services.BorrowingsService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    @Param({"false", "true"})
+    private boolean secondLevelCache;
+
+    private ConfigurableApplicationContext context;
+    private BorrowingsService borrowingsService;
+    private SqlStatementCounter sqlStatementCounter;
+    private Long memberId;
+    private Long bookId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start(
+                "--spring.jpa.properties.hibernate.cache.use_second_level_cache=" + secondLevelCache,
+                "--spring.jpa.properties.hibernate.cache.use_query_cache=" + secondLevelCache
+        );
+        borrowingsService = context.getBean(BorrowingsService.class);
+        sqlStatementCounter = context.getBean(SqlStatementCounter.class);
+
+        Member member = new Member();
+        member.setName("Cache Reader");
+        memberId = context.getBean(MemberRepository.class).save(member).getId();
+
+        Book book = new Book();
+        book.setTitle("Cached book");
+        book.setAuthor("Bench Author");
+        book.setAmount(1_000_000);
+        bookId = context.getBean(BookRepository.class).save(book).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Statements {
+        public long statements;
+        public long returns;
+    }
+
+    @Benchmark
+    public void borrowAndReturn(Statements counter) {
+        sqlStatementCounter.reset();
+        borrowingsService.addBorrowing(memberId, bookId);
+        borrowingsService.returnBook(memberId, bookId);
+        counter.statements += sqlStatementCounter.count();
+        counter.returns++;
+    }
+
+    @Benchmark
+    public void returnAfterBatchBorrow(Statements counter) {
+        borrowingsService.addBorrowings(memberId, List.of(bookId));
+        sqlStatementCounter.reset();
+        borrowingsService.returnBook(memberId, bookId);
+        counter.statements += sqlStatementCounter.count();
+        counter.returns++;
+    }
+}
@@ -0,0 +1,62 @@
+package org.example.library.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.library.dto.BookDto;
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Book book;
+    private Member member;
+    private BookDto bookDto;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        book = book(1L);
+        member = new Member();
+        member.setId(1L);
+        member.setName("Benchmark Member");
+        for (long id = 1; id <= 10; id++) {
+            member.addBook(book(id));
+        }
+        bookDto = new BookDto("Benchmark book", 42L);
+    }
+
+    @Benchmark
+    public byte[] book() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(book);
+    }
+
+    @Benchmark
+    public byte[] memberWithTenBooks() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(member);
+    }
+
+    @Benchmark
+    public byte[] bookDto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookDto);
+    }
+
+    private static Book book(long id) {
+        Book book = new Book();
+        book.setId(id);
+        book.setTitle("Benchmark book " + id);
+        book.setAuthor("Bench Author");
+        book.setAmount(3);
+        return book;
+    }
+}
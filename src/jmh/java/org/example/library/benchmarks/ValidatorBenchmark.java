@@ -0,0 +1,44 @@
+package org.example.library.benchmarks;
+
+import org.example.library.validation.FirstCapitalLetterValidator;
+import org.example.library.validation.TwoWordsWithCapitalLetterValidator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    @Param({"John Smith", "john smith", "John  Smith", "John Smith Jr", "Johann Sebastian Bach"})
+    private String value;
+
+    private final TwoWordsWithCapitalLetterValidator twoWordsValidator = new TwoWordsWithCapitalLetterValidator();
+    private final FirstCapitalLetterValidator firstCapitalValidator = new FirstCapitalLetterValidator();
+
+    @Benchmark
+    public boolean twoWordsWithCapitalLetter() {
+        return twoWordsValidator.isValid(value, null);
+    }
+
+    @Benchmark
+    public boolean twoWordsWithCapitalLetterSplit() {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        String[] words = value.split(" ");
+        if (words.length != 2) {
+            return false;
+        }
+        return Character.isUpperCase(words[0].charAt(0)) && Character.isUpperCase(words[1].charAt(0));
+    }
+
+    @Benchmark
+    public boolean firstCapitalLetter() {
+        return firstCapitalValidator.isValid(value, null);
+    }
+}
@@ -0,0 +1,211 @@
+package org.example.library.availability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.library.dto.AvailabilityDto;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.events.BookChangedEvent;
+import org.example.library.events.LoanEvent;
+import org.example.library.repositories.BookRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AvailabilityHub {
+    public static final int MAX_BOOKS = 100;
+
+    private final BookRepository bookRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${library.availability.max-subscribers:50000}")
+    @Setter
+    private int maxSubscribers;
+
+    @Value("${library.availability.emitter-timeout:PT30M}")
+    @Setter
+    private Duration emitterTimeout;
+
+    private final Map<Long, Set<AvailabilitySubscriber>> subscribersByBook = new ConcurrentHashMap<>();
+    private final Set<AvailabilitySubscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirty = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sendExecutor = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    public void init() {
+        meterRegistry.gaugeCollectionSize("library.availability.subscribers", Tags.empty(), subscribers);
+    }
+
+    public SseEmitter subscribe(Collection<Long> bookIds) {
+        return subscribe(bookIds, new SseEmitter(emitterTimeout.toMillis()));
+    }
+
+    SseEmitter subscribe(Collection<Long> bookIds, SseEmitter emitter) {
+        if (bookIds == null || bookIds.isEmpty() || bookIds.stream().anyMatch(Objects::isNull)) {
+            throw new IllegalArgumentException("At least one book id is required");
+        }
+        Set<Long> ids = Set.copyOf(bookIds);
+        if (ids.size() > MAX_BOOKS) {
+            throw new IllegalArgumentException("At most " + MAX_BOOKS + " books can be followed per stream");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new IllegalStateException("Too many availability subscribers");
+        }
+        AvailabilitySubscriber subscriber = new AvailabilitySubscriber(emitter, ids);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        subscribers.add(subscriber);
+        for (Long bookId : ids) {
+            subscribersByBook.compute(bookId, (id, current) -> {
+                Set<AvailabilitySubscriber> set = current != null ? current : ConcurrentHashMap.newKeySet();
+                set.add(subscriber);
+                return set;
+            });
+        }
+
+        Map<Long, Integer> amounts;
+        try {
+            amounts = loadAmounts(ids);
+        } catch (RuntimeException e) {
+            remove(subscriber);
+            throw e;
+        }
+        boolean schedule = false;
+        for (Long bookId : ids) {
+            schedule |= subscriber.offer(bookId, amounts.get(bookId));
+        }
+        if (schedule) {
+            sendExecutor.execute(() -> drain(subscriber));
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onLoan(LoanEvent event) {
+        markDirty(event.bookIds());
+    }
+
+    @TransactionalEventListener
+    public void onBookChanged(BookChangedEvent event) {
+        markDirty(event.bookIds());
+    }
+
+    @Scheduled(initialDelayString = "${library.availability.flush-interval:PT0.5S}", fixedDelayString = "${library.availability.flush-interval:PT0.5S}")
+    public void flush() {
+        if (dirty.isEmpty()) {
+            return;
+        }
+        List<Long> bookIds = new ArrayList<>(dirty);
+        bookIds.forEach(dirty::remove);
+        Set<AvailabilitySubscriber> ready = new HashSet<>();
+        loadAmounts(bookIds).forEach((bookId, amount) -> {
+            Set<AvailabilitySubscriber> followers = subscribersByBook.get(bookId);
+            if (followers == null) {
+                return;
+            }
+            for (AvailabilitySubscriber subscriber : followers) {
+                if (subscriber.offer(bookId, amount)) {
+                    ready.add(subscriber);
+                }
+            }
+        });
+        ready.forEach(subscriber -> sendExecutor.execute(() -> drain(subscriber)));
+    }
+
+    @Scheduled(initialDelayString = "${library.availability.heartbeat-interval:PT15S}", fixedDelayString = "${library.availability.heartbeat-interval:PT15S}")
+    public void heartbeat() {
+        for (AvailabilitySubscriber subscriber : subscribers) {
+            if (subscriber.offerHeartbeat()) {
+                sendExecutor.execute(() -> drain(subscriber));
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (AvailabilitySubscriber subscriber : subscribers) {
+            remove(subscriber);
+            subscriber.emitter().complete();
+        }
+        sendExecutor.shutdownNow();
+    }
+
+    int subscriberCount() {
+        return subscribers.size();
+    }
+
+    private void markDirty(Collection<Long> bookIds) {
+        for (Long bookId : bookIds) {
+            if (subscribersByBook.containsKey(bookId)) {
+                dirty.add(bookId);
+            }
+        }
+    }
+
+    private Map<Long, Integer> loadAmounts(Collection<Long> bookIds) {
+        Map<Long, Integer> amounts = new HashMap<>();
+        bookIds.forEach(bookId -> amounts.put(bookId, 0));
+        for (BookSummaryDto book : bookRepository.findByIdIn(bookIds)) {
+            amounts.put(book.id(), book.amount());
+        }
+        return amounts;
+    }
+
+    private void drain(AvailabilitySubscriber subscriber) {
+        List<AvailabilityDto> changes;
+        while ((changes = subscriber.take()) != null) {
+            try {
+                if (changes.isEmpty()) {
+                    subscriber.emitter().send(SseEmitter.event().comment("keep-alive"));
+                } else {
+                    subscriber.emitter().send(SseEmitter.event().name("availability").data(changes, MediaType.APPLICATION_JSON));
+                    meterRegistry.counter("library.availability.events", "outcome", "sent").increment();
+                }
+            } catch (IOException | IllegalStateException e) {
+                meterRegistry.counter("library.availability.events", "outcome", "failed").increment();
+                log.debug("Dropping availability subscriber: {}", e.getMessage());
+                remove(subscriber);
+                subscriber.emitter().completeWithError(e);
+                return;
+            }
+        }
+    }
+
+    private void remove(AvailabilitySubscriber subscriber) {
+        if (!subscriber.close()) {
+            return;
+        }
+        subscribers.remove(subscriber);
+        for (Long bookId : subscriber.bookIds()) {
+            subscribersByBook.computeIfPresent(bookId, (id, set) -> {
+                set.remove(subscriber);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.example.library.availability;
+
+import org.example.library.dto.AvailabilityDto;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+final class AvailabilitySubscriber {
+    private final SseEmitter emitter;
+    private final Set<Long> bookIds;
+
+    private Map<Long, Integer> pending = new LinkedHashMap<>();
+    private boolean heartbeat;
+    private boolean draining;
+    private boolean closed;
+
+    AvailabilitySubscriber(SseEmitter emitter, Set<Long> bookIds) {
+        this.emitter = emitter;
+        this.bookIds = bookIds;
+    }
+
+    SseEmitter emitter() {
+        return emitter;
+    }
+
+    Set<Long> bookIds() {
+        return bookIds;
+    }
+
+    synchronized boolean offer(Long bookId, int amount) {
+        pending.put(bookId, amount);
+        return schedule();
+    }
+
+    synchronized boolean offerHeartbeat() {
+        heartbeat = true;
+        return schedule();
+    }
+
+    synchronized List<AvailabilityDto> take() {
+        if (closed || pending.isEmpty() && !heartbeat) {
+            draining = false;
+            return null;
+        }
+        List<AvailabilityDto> changes = new ArrayList<>(pending.size());
+        pending.forEach((bookId, amount) -> changes.add(new AvailabilityDto(bookId, amount)));
+        pending = new LinkedHashMap<>();
+        heartbeat = false;
+        return changes;
+    }
+
+    synchronized boolean close() {
+        if (closed) {
+            return false;
+        }
+        closed = true;
+        pending.clear();
+        return true;
+    }
+
+    private boolean schedule() {
+        if (draining || closed) {
+            return false;
+        }
+        draining = true;
+        return true;
+    }
+}
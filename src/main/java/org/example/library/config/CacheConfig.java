@@ -0,0 +1,30 @@
+package org.example.library.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE + 2)
+public class CacheConfig {
+    public static final String BOOKS = "books";
+    public static final String MEMBERS = "members";
+    public static final String MEMBER_PROFILES = "memberProfiles";
+
+    @Bean
+    public CacheManager cacheManager(@Value("${library.cache.books.spec}") String booksSpec,
+                                     @Value("${library.cache.members.spec}") String membersSpec,
+                                     @Value("${library.cache.member-profiles.spec}") String memberProfilesSpec) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(BOOKS, Caffeine.from(booksSpec).recordStats().build());
+        cacheManager.registerCustomCache(MEMBERS, Caffeine.from(membersSpec).recordStats().build());
+        cacheManager.registerCustomCache(MEMBER_PROFILES, Caffeine.from(memberProfilesSpec).recordStats().build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,135 @@
+package org.example.library.config;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SchemaIndexCheck {
+    static final List<ExpectedIndex> EXPECTED_INDEXES = List.of(
+            new ExpectedIndex("books", List.of("title", "author"), true),
+            new ExpectedIndex("books", List.of("author", "id"), false),
+            new ExpectedIndex("books", List.of("title", "id"), false),
+            new ExpectedIndex("books", List.of("search_vector"), false),
+            new ExpectedIndex("members", List.of("name"), false),
+            new ExpectedIndex("members", List.of("name", "id"), false),
+            new ExpectedIndex("borrowings", List.of("member_id", "book_id"), true),
+            new ExpectedIndex("borrowings", List.of("book_id", "member_id"), false),
+            new ExpectedIndex("loan_events", List.of("book_id", "id"), false),
+            new ExpectedIndex("loan_events", List.of("member_id", "id"), false),
+            new ExpectedIndex("stock_outbox", List.of("feed_offset"), true)
+    );
+    static final List<PrefixScan> PREFIX_SCANS = List.of(
+            new PrefixScan("books", "title"),
+            new PrefixScan("members", "name")
+    );
+
+    private final DataSource dataSource;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        try (Connection connection = dataSource.getConnection()) {
+            List<ExpectedIndex> missing = findMissing(connection.getMetaData());
+            for (ExpectedIndex index : missing) {
+                log.warn("Missing {}index on {} {}; queries relying on it will scan the table", index.unique() ? "unique " : "", index.table(), index.columns());
+            }
+            if ("PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())) {
+                for (PrefixScan scan : findUnindexedPrefixScans(connection)) {
+                    log.warn("LIKE prefix on {}.{} cannot use an index range scan under the database collation; prefix-filtered pages will scan", scan.table(), scan.column());
+                }
+            }
+        } catch (SQLException e) {
+            log.warn("Could not verify schema indexes: {}", e.getMessage());
+        }
+    }
+
+    List<ExpectedIndex> findMissing(DatabaseMetaData metaData) throws SQLException {
+        Map<String, List<IndexColumns>> indexesByTable = new HashMap<>();
+        List<ExpectedIndex> missing = new ArrayList<>();
+        for (ExpectedIndex expected : EXPECTED_INDEXES) {
+            List<IndexColumns> indexes = indexesByTable.get(expected.table());
+            if (indexes == null) {
+                indexes = readIndexes(metaData, expected.table());
+                indexesByTable.put(expected.table(), indexes);
+            }
+            boolean present = indexes.stream().anyMatch(index -> index.columns().equals(expected.columns()) && (index.unique() || !expected.unique()));
+            if (!present) {
+                missing.add(expected);
+            }
+        }
+        return missing;
+    }
+
+    List<PrefixScan> findUnindexedPrefixScans(Connection connection) throws SQLException {
+        List<PrefixScan> unindexed = new ArrayList<>();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("set local enable_seqscan = off");
+            for (PrefixScan scan : PREFIX_SCANS) {
+                if (!usesIndexCondition(statement, "explain select id from " + scan.table() + " where " + scan.column() + " like 'A%'")) {
+                    unindexed.add(scan);
+                }
+            }
+        } finally {
+            connection.rollback();
+            connection.setAutoCommit(autoCommit);
+        }
+        return unindexed;
+    }
+
+    private static boolean usesIndexCondition(Statement statement, String explain) throws SQLException {
+        try (ResultSet plan = statement.executeQuery(explain)) {
+            while (plan.next()) {
+                if (plan.getString(1).contains("Index Cond")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static List<IndexColumns> readIndexes(DatabaseMetaData metaData, String table) throws SQLException {
+        Map<String, TreeMap<Short, String>> columnsByIndex = new HashMap<>();
+        Map<String, Boolean> uniqueByIndex = new HashMap<>();
+        try (ResultSet rows = metaData.getIndexInfo(null, null, table, false, true)) {
+            while (rows.next()) {
+                String indexName = rows.getString("INDEX_NAME");
+                String column = rows.getString("COLUMN_NAME");
+                if (indexName == null || column == null) {
+                    continue;
+                }
+                columnsByIndex.computeIfAbsent(indexName, name -> new TreeMap<>()).put(rows.getShort("ORDINAL_POSITION"), column.toLowerCase());
+                uniqueByIndex.put(indexName, !rows.getBoolean("NON_UNIQUE"));
+            }
+        }
+        List<IndexColumns> indexes = new ArrayList<>();
+        columnsByIndex.forEach((name, columns) -> indexes.add(new IndexColumns(List.copyOf(columns.values()), uniqueByIndex.get(name))));
+        return indexes;
+    }
+
+    record ExpectedIndex(String table, List<String> columns, boolean unique) {
+    }
+
+    record PrefixScan(String table, String column) {
+    }
+
+    private record IndexColumns(List<String> columns, boolean unique) {
+    }
+}
@@ -1,20 +1,39 @@
 package org.example.library.controllers;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.library.availability.AvailabilityHub;
+import org.example.library.dto.AuthorSuggestionDto;
+import org.example.library.dto.AvailabilityDto;
+import org.example.library.dto.BookSearchResultDto;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BulkImportResultDto;
+import org.example.library.dto.PageDto;
+import org.example.library.dto.StockChangeFeedDto;
 import org.example.library.entities.Book;
+import org.example.library.outbox.StockChangeFeed;
+import org.example.library.services.AuthorAutocompleteService;
+import org.example.library.services.BookImportService;
 import org.example.library.services.BookService;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/book")
@@ -22,6 +41,10 @@ import java.util.NoSuchElementException;
 public class BookController {
 
     private final BookService bookService;
+    private final BookImportService bookImportService;
+    private final AuthorAutocompleteService authorAutocompleteService;
+    private final StockChangeFeed stockChangeFeed;
+    private final AvailabilityHub availabilityHub;
 
     @Operation(summary = "Add a new book")
     @ApiResponses({
@@ -41,6 +64,124 @@ public class BookController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedBook);
     }
 
+    @Operation(summary = "Import books from a JSON array or an NDJSON stream")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Import summary per chunk", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BulkImportResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Unreadable input"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importBooks(InputStream body) {
+        try {
+            BulkImportResultDto result = bookImportService.importBooks(body);
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "List books page by page")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of books", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping
+    public ResponseEntity<?> getBooks(@RequestParam(required = false) String cursor,
+                                      @RequestParam(required = false) Integer size,
+                                      @RequestParam(required = false) String author,
+                                      @RequestParam(required = false) String titlePrefix) {
+        try {
+            PageDto<BookSummaryDto> page = bookService.getBooksPage(cursor, size, author, titlePrefix);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Search books by title and author words, matching prefixes and ranking title matches first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of ranked matches", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid query, cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/search")
+    public ResponseEntity<?> searchBooks(@RequestParam String q,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(required = false) Integer size) {
+        try {
+            PageDto<BookSearchResultDto> page = bookService.searchBooks(q, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Suggest authors whose first or last name starts with the prefix")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Matching authors with their title counts", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = AuthorSuggestionDto.class)))),
+            @ApiResponse(responseCode = "400", description = "Blank prefix or invalid limit"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/authors")
+    public ResponseEntity<?> completeAuthors(@RequestParam String prefix,
+                                             @RequestParam(required = false) Integer limit) {
+        try {
+            List<AuthorSuggestionDto> authors = authorAutocompleteService.complete(prefix, limit);
+            return ResponseEntity.ok(authors);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Follow stock changes from an offset, optionally waiting for new ones")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Changes after the offset in feed order and the offset to continue from; empty if none arrived within the wait", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StockChangeFeedDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid offset, limit or wait"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/changes")
+    public CompletableFuture<ResponseEntity<?>> followStockChanges(@RequestParam(required = false) Long after,
+                                                                   @RequestParam(required = false) Integer limit,
+                                                                   @RequestParam(required = false) Integer wait) {
+        try {
+            return stockChangeFeed.read(after, limit, wait)
+                    .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                    .exceptionally(e -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null));
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(e.getMessage()));
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null));
+        }
+    }
+
+    @Operation(summary = "Stream live availability of a set of books as server-sent events")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Current amounts first, then coalesced availability events as loans and additions commit", content = @Content(mediaType = "text/event-stream", schema = @Schema(implementation = AvailabilityDto.class))),
+            @ApiResponse(responseCode = "400", description = "No book ids or too many of them"),
+            @ApiResponse(responseCode = "503", description = "Subscriber limit reached"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/availability")
+    public ResponseEntity<SseEmitter> streamAvailability(@RequestParam List<Long> ids) {
+        try {
+            SseEmitter emitter = availabilityHub.subscribe(ids);
+            return ResponseEntity.ok(emitter);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
     @Operation(summary = "Get a book by ID")
     @ApiResponses({
             @ApiResponse(responseCode = "200", description = "Book found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Book.class))),
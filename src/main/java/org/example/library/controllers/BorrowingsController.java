@@ -5,14 +5,22 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.example.library.dto.BatchItemResultDto;
+import org.example.library.dto.BatchRequestDto;
 import org.example.library.dto.BookDto;
-import org.example.library.entities.Book;
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.dto.BorrowingExportDto;
+import org.example.library.dto.LoanEventDto;
+import org.example.library.dto.PageDto;
 import org.example.library.services.BorrowingsService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.time.Instant;
 import java.util.List;
 import java.util.NoSuchElementException;
 
@@ -64,9 +72,51 @@ public class BorrowingsController {
         }
     }
 
+    @Operation(summary = "Borrow several books for one member")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Outcome for every requested book", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing member id or invalid number of books"),
+            @ApiResponse(responseCode = "404", description = "Member not found"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @PostMapping("/borrow-batch")
+    public ResponseEntity<?> borrowBooks(@RequestBody BatchRequestDto request) {
+        if (!isValid(request)) {
+            return ResponseEntity.badRequest().body("Member id and 1 to " + BatchRequestDto.MAX_ITEMS + " book ids are required");
+        }
+        try {
+            return ResponseEntity.ok(borrowingsService.addBorrowings(request.memberId(), request.bookIds()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Return several books for one member")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Outcome for every returned book", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BatchItemResultDto.class))),
+            @ApiResponse(responseCode = "400", description = "Missing member id or invalid number of books"),
+            @ApiResponse(responseCode = "404", description = "Member not found"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @PostMapping("/return-batch")
+    public ResponseEntity<?> returnBooks(@RequestBody BatchRequestDto request) {
+        if (!isValid(request)) {
+            return ResponseEntity.badRequest().body("Member id and 1 to " + BatchRequestDto.MAX_ITEMS + " book ids are required");
+        }
+        try {
+            return ResponseEntity.ok(borrowingsService.returnBooks(request.memberId(), request.bookIds()));
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @Operation(summary = "Get books borrowed by a member name")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "List of borrowed books", content = @Content(mediaType = "application/json", schema = @Schema(implementation = Book.class))),
+            @ApiResponse(responseCode = "200", description = "Books borrowed by every member with this name, ordered by member and book id", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BorrowedBookDto.class))),
             @ApiResponse(responseCode = "404", description = "Member not found"),
             @ApiResponse(responseCode = "500", description = "Server error")
     })
@@ -100,4 +150,65 @@ public class BorrowingsController {
     public List<BookDto> getOriginalBorrowedBooksWithCount() {
         return borrowingsService.findAllOriginalBorrowedBooksWithCount();
     }
-}
\ No newline at end of file
+
+    @Operation(summary = "Get the loan history of a book, newest first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of borrow and return events, including ones for members or books deleted since", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("history/book/{bookId}")
+    public ResponseEntity<?> getBookHistory(@PathVariable Long bookId,
+                                            @RequestParam(required = false) Instant from,
+                                            @RequestParam(required = false) String cursor,
+                                            @RequestParam(required = false) Integer size) {
+        try {
+            PageDto<LoanEventDto> page = borrowingsService.getBookHistory(bookId, from, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Get the loan history of a member, newest first")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Page of borrow and return events, including ones for members or books deleted since", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("history/member/{memberId}")
+    public ResponseEntity<?> getMemberHistory(@PathVariable Long memberId,
+                                              @RequestParam(required = false) Instant from,
+                                              @RequestParam(required = false) String cursor,
+                                              @RequestParam(required = false) Integer size) {
+        try {
+            PageDto<LoanEventDto> page = borrowingsService.getMemberHistory(memberId, from, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Export all borrowings as NDJSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "One borrowing per line, ordered by member id", content = @Content(mediaType = "application/x-ndjson", schema = @Schema(implementation = BorrowingExportDto.class))),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping(value = "borrowings/export", produces = "application/x-ndjson")
+    public void exportBorrowings(@RequestParam(required = false) Long since, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        borrowingsService.exportBorrowings(since, response.getOutputStream());
+    }
+
+    private static boolean isValid(BatchRequestDto request) {
+        return request.memberId() != null
+                && request.bookIds() != null
+                && !request.bookIds().isEmpty()
+                && request.bookIds().size() <= BatchRequestDto.MAX_ITEMS
+                && !request.bookIds().contains(null);
+    }
+}
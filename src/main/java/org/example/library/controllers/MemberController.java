@@ -7,7 +7,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.example.library.dto.MemberDetailsDto;
+import org.example.library.dto.MemberProfileDto;
+import org.example.library.dto.MemberSummaryDto;
+import org.example.library.dto.PageDto;
 import org.example.library.entities.Member;
+import org.example.library.entities.MemberTier;
 import org.example.library.services.MemberService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -32,17 +37,40 @@ public class MemberController {
         return ResponseEntity.status(HttpStatus.CREATED).body(savedMember);
     }
 
-    @Operation(summary = "Get a member by ID")
+    @Operation(summary = "List members page by page")
     @ApiResponses({
-            @ApiResponse(responseCode = "200", description = "Member found", content = @Content(schema = @Schema(implementation = Member.class))),
+            @ApiResponse(responseCode = "200", description = "Page of members", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PageDto.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid cursor or page size"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping
+    public ResponseEntity<?> getMembers(@RequestParam(required = false) String cursor,
+                                        @RequestParam(required = false) Integer size,
+                                        @RequestParam(required = false) String namePrefix) {
+        try {
+            PageDto<MemberSummaryDto> page = memberService.getMembersPage(cursor, size, namePrefix);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
+    @Operation(summary = "Get a member by ID, with borrowed books only when withBooks is set")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Member found", content = @Content(schema = @Schema(oneOf = {MemberProfileDto.class, MemberDetailsDto.class}))),
             @ApiResponse(responseCode = "404", description = "Member not found"),
             @ApiResponse(responseCode = "500", description = "Server error")
     })
     @GetMapping("/{id}")
-    public ResponseEntity<?> getMemberById(@PathVariable Long id) {
+    public ResponseEntity<?> getMemberById(@PathVariable Long id,
+                                           @RequestParam(defaultValue = "false") boolean withBooks) {
         try {
-            Member member = memberService.getMemberById(id);
-            return ResponseEntity.ok(member);
+            if (withBooks) {
+                return ResponseEntity.ok(memberService.getMemberWithBooksById(id));
+            }
+            return ResponseEntity.ok(memberService.getMemberById(id));
         } catch (NoSuchElementException e) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
         } catch (Exception e) {
@@ -69,6 +97,27 @@ public class MemberController {
         }
     }
 
+    @Operation(summary = "Change the tier of a member by ID")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Tier updated successfully", content = @Content(schema = @Schema(implementation = Member.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid tier"),
+            @ApiResponse(responseCode = "404", description = "Member not found"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @PutMapping("/update/{id}/tier")
+    public ResponseEntity<?> updateTierById(@PathVariable Long id, @RequestParam MemberTier tier) {
+        try {
+            Member updatedMember = memberService.updateTierById(id, tier);
+            return ResponseEntity.ok(updatedMember);
+        } catch (NoSuchElementException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
+        }
+    }
+
     @Operation(summary = "Delete a member by ID")
     @ApiResponses({
             @ApiResponse(responseCode = "204", description = "Member deleted successfully"),
@@ -0,0 +1,63 @@
+package org.example.library.controllers;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import lombok.RequiredArgsConstructor;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.services.ReactiveCatalogueService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+@RestController
+@RequestMapping("/reactive")
+@RequiredArgsConstructor
+public class ReactiveCatalogueController {
+    private final ReactiveCatalogueService catalogueService;
+
+    @Operation(summary = "Get a book by ID without holding a request thread")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Book found", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BookSummaryDto.class))),
+            @ApiResponse(responseCode = "404", description = "Book not found"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping("/book/{id}")
+    public Mono<ResponseEntity<?>> readBookById(@PathVariable Long id) {
+        return catalogueService.getBookById(id)
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .onErrorResume(NoSuchElementException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage())))
+                .onErrorResume(e -> Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null)));
+    }
+
+    @Operation(summary = "Stream all books ordered by ID as newline-delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books, one JSON object per line", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BookSummaryDto.class))),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping(value = "/book", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookSummaryDto> streamBooks(@RequestParam(required = false) Long after) {
+        return catalogueService.getBooks(after);
+    }
+
+    @Operation(summary = "Stream books borrowed by a member name as newline-delimited JSON")
+    @ApiResponses({
+            @ApiResponse(responseCode = "200", description = "Books borrowed by every member with this name, ordered by member and book id, one JSON object per line", content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE, schema = @Schema(implementation = BorrowedBookDto.class))),
+            @ApiResponse(responseCode = "404", description = "Member not found"),
+            @ApiResponse(responseCode = "500", description = "Server error")
+    })
+    @GetMapping(value = "/library/books/member/{memberName}", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BorrowedBookDto> streamBooksByMemberName(@PathVariable String memberName) {
+        return catalogueService.findBorrowedBooksByMemberName(memberName)
+                .onErrorMap(NoSuchElementException.class, e -> new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage()));
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.library.dto;
+
+public record AuthorSuggestionDto(String author, int titles) {
+}
@@ -0,0 +1,4 @@
+package org.example.library.dto;
+
+public record BatchItemResultDto(Long bookId, BatchOutcome outcome) {
+}
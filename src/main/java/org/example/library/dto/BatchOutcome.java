@@ -0,0 +1,12 @@
+package org.example.library.dto;
+
+public enum BatchOutcome {
+    OK,
+    NOT_FOUND,
+    NOT_BORROWED,
+    ALREADY_BORROWED,
+    OUT_OF_STOCK,
+    LIMIT,
+    TITLE_LIMIT,
+    BLACKOUT
+}
@@ -0,0 +1,7 @@
+package org.example.library.dto;
+
+import java.util.List;
+
+public record BatchRequestDto(Long memberId, List<Long> bookIds) {
+    public static final int MAX_ITEMS = 100;
+}
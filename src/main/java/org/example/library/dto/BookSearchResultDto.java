@@ -0,0 +1,4 @@
+package org.example.library.dto;
+
+public record BookSearchResultDto(Long id, String title, String author, int amount, double rank) {
+}
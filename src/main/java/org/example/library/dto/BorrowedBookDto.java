@@ -0,0 +1,4 @@
+package org.example.library.dto;
+
+public record BorrowedBookDto(Long memberId, Long id, String title, String author) {
+}
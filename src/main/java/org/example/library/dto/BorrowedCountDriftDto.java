@@ -0,0 +1,4 @@
+package org.example.library.dto;
+
+public record BorrowedCountDriftDto(Long bookId, String title, int storedCount, Long actualCount) {
+}
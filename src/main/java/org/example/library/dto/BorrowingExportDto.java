@@ -0,0 +1,4 @@
+package org.example.library.dto;
+
+public record BorrowingExportDto(Long memberId, String memberName, Long bookId, String bookTitle) {
+}
@@ -0,0 +1,21 @@
+package org.example.library.dto;
+
+import java.util.List;
+
+public record BulkImportResultDto(int rows, int accepted, int created, int updated, int failed, List<ImportChunkResultDto> chunks) {
+    public static BulkImportResultDto of(List<ImportChunkResultDto> chunks) {
+        int rows = 0;
+        int accepted = 0;
+        int created = 0;
+        int updated = 0;
+        int failed = 0;
+        for (ImportChunkResultDto chunk : chunks) {
+            rows += chunk.rows();
+            accepted += chunk.accepted();
+            created += chunk.created();
+            updated += chunk.updated();
+            failed += chunk.rows() - chunk.accepted();
+        }
+        return new BulkImportResultDto(rows, accepted, created, updated, failed, chunks);
+    }
+}
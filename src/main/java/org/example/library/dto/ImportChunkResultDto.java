@@ -0,0 +1,6 @@
+package org.example.library.dto;
+
+import java.util.List;
+
+public record ImportChunkResultDto(int chunk, int rows, int accepted, int created, int updated, List<ImportErrorDto> errors) {
+}
@@ -0,0 +1,4 @@
+package org.example.library.dto;
+
+public record ImportErrorDto(long row, String message) {
+}
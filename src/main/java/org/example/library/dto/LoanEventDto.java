@@ -0,0 +1,8 @@
+package org.example.library.dto;
+
+import org.example.library.events.LoanEvent;
+
+import java.time.Instant;
+
+public record LoanEventDto(Long id, LoanEvent.Type type, Long memberId, Long bookId, Instant occurredAt) {
+}
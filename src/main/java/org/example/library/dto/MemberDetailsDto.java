@@ -0,0 +1,19 @@
+package org.example.library.dto;
+
+import org.example.library.entities.Member;
+import org.example.library.entities.MemberTier;
+
+import java.sql.Date;
+import java.util.Comparator;
+import java.util.List;
+
+public record MemberDetailsDto(Long id, String name, Date membershipDate, MemberTier tier, List<BorrowedBookDto> books) {
+
+    public static MemberDetailsDto of(Member member) {
+        List<BorrowedBookDto> books = member.getBooks().stream()
+                .map(book -> new BorrowedBookDto(member.getId(), book.getId(), book.getTitle(), book.getAuthor()))
+                .sorted(Comparator.comparing(BorrowedBookDto::id))
+                .toList();
+        return new MemberDetailsDto(member.getId(), member.getName(), member.getMembershipDate(), member.getTier(), books);
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.library.dto;
+
+import org.example.library.entities.Member;
+import org.example.library.entities.MemberTier;
+
+import java.sql.Date;
+
+public record MemberProfileDto(Long id, String name, Date membershipDate, MemberTier tier) {
+
+    public static MemberProfileDto of(Member member) {
+        return new MemberProfileDto(member.getId(), member.getName(), member.getMembershipDate(), member.getTier());
+    }
+}
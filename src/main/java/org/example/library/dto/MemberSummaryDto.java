@@ -0,0 +1,6 @@
+package org.example.library.dto;
+
+import java.sql.Date;
+
+public record MemberSummaryDto(Long id, String name, Date membershipDate) {
+}
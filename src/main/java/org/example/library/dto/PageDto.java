@@ -0,0 +1,72 @@
+package org.example.library.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+public record PageDto<T>(List<T> items, String nextCursor) {
+    public static final int DEFAULT_SIZE = 20;
+    public static final int MAX_SIZE = 100;
+
+    private static final String CURSOR_PREFIX = "id:";
+    private static final String OFFSET_CURSOR_PREFIX = "offset:";
+
+    public static int pageSize(Integer requestedSize) {
+        if (requestedSize == null) {
+            return DEFAULT_SIZE;
+        }
+        if (requestedSize < 1 || requestedSize > MAX_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_SIZE);
+        }
+        return requestedSize;
+    }
+
+    public static long afterId(String cursor) {
+        return decode(cursor, CURSOR_PREFIX);
+    }
+
+    public static int offset(String cursor) {
+        long offset = decode(cursor, OFFSET_CURSOR_PREFIX);
+        if (offset < 0 || offset > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return (int) offset;
+    }
+
+    public static <T> PageDto<T> of(List<T> rows, int pageSize, ToLongFunction<T> idOf) {
+        if (rows.size() <= pageSize) {
+            return new PageDto<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new PageDto<>(items, encode(CURSOR_PREFIX + idOf.applyAsLong(items.get(pageSize - 1))));
+    }
+
+    public static <T> PageDto<T> ofOffset(List<T> rows, int pageSize, int offset, int maxOffset) {
+        if (rows.size() <= pageSize) {
+            return new PageDto<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        int nextOffset = offset + pageSize;
+        return new PageDto<>(items, nextOffset >= maxOffset ? null : encode(OFFSET_CURSOR_PREFIX + nextOffset));
+    }
+
+    private static long decode(String cursor, String prefix) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!decoded.startsWith(prefix)) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return Long.parseLong(decoded.substring(prefix.length()));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    private static String encode(String cursor) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,8 @@
+package org.example.library.dto;
+
+import org.example.library.entities.StockChangeType;
+
+import java.time.Instant;
+
+public record StockChangeDto(Long feedOffset, Long bookId, Long memberId, StockChangeType changeType, int amount, int borrowedCount, Instant changedAt) {
+}
@@ -0,0 +1,9 @@
+package org.example.library.dto;
+
+import java.util.List;
+
+public record StockChangeFeedDto(List<StockChangeDto> changes, long nextOffset) {
+    public static StockChangeFeedDto of(List<StockChangeDto> changes, long afterOffset) {
+        return new StockChangeFeedDto(changes, changes.isEmpty() ? afterOffset : changes.getLast().feedOffset());
+    }
+}
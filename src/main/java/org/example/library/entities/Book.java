@@ -3,6 +3,7 @@ package org.example.library.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PositiveOrZero;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 import org.example.library.validation.FirstCapitalLetter;
@@ -12,7 +13,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "books")
+@Table(name = "books", indexes = {
+        @Index(name = "uk_books_title_author", columnList = "title, author", unique = true),
+        @Index(name = "idx_books_author_id", columnList = "author, id")
+})
 @ToString(exclude = "members")
 @Getter
 @Setter
@@ -20,7 +24,8 @@ import java.util.Set;
 @AllArgsConstructor
 public class Book {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "books_id_seq")
+    @SequenceGenerator(name = "books_id_seq", sequenceName = "books_id_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "title")
@@ -35,8 +40,18 @@ public class Book {
     private String author;
 
     @Column(name = "amount")
+    @PositiveOrZero(message = "Amount cannot be negative")
     private int amount;
 
+    @Column(name = "borrowed_count")
+    @JsonIgnore
+    private int borrowedCount;
+
+    @Version
+    @Column(name = "version")
+    @JsonIgnore
+    private Long version;
+
     @Setter(AccessLevel.PRIVATE)
     @ManyToMany(mappedBy = "books", fetch = FetchType.LAZY)
     @JsonIgnore
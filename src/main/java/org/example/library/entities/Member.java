@@ -1,18 +1,25 @@
 package org.example.library.entities;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Generated;
 
 import java.sql.Date;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "members")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "library.member")
+@Table(name = "members", indexes = @Index(name = "idx_members_name", columnList = "name"))
 @Getter
 @Setter
 @ToString
@@ -26,15 +33,27 @@ public class Member {
     @NotNull(message = "Name cannot be null")
     private String name;
 
+    @Generated
     @Column(name = "membership_date", updatable = false, insertable = false)
     private Date membershipDate;
 
+    @NotNull(message = "Tier cannot be null")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    @Enumerated(EnumType.STRING)
+    @Column(name = "tier")
+    private MemberTier tier = MemberTier.STANDARD;
+
+    @Version
+    @Column(name = "version")
+    @JsonIgnore
+    private Long version;
 
     @Setter(AccessLevel.PRIVATE)
     @ManyToMany(fetch = FetchType.LAZY)
     @JoinTable(name = "borrowings",
             joinColumns = @JoinColumn(name = "member_id"),
-            inverseJoinColumns = @JoinColumn(name = "book_id")
+            inverseJoinColumns = @JoinColumn(name = "book_id"),
+            indexes = @Index(name = "idx_borrowings_book_member", columnList = "book_id, member_id")
     )
     private Set<Book> books = new HashSet<>();
 
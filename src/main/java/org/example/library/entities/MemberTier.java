@@ -0,0 +1,7 @@
+package org.example.library.entities;
+
+public enum MemberTier {
+    STANDARD,
+    PREMIUM,
+    STAFF
+}
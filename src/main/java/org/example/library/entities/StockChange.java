@@ -0,0 +1,41 @@
+package org.example.library.entities;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "stock_outbox", indexes = {
+        @Index(name = "idx_stock_outbox_feed_offset", columnList = "feed_offset", unique = true)
+})
+@Getter
+@NoArgsConstructor
+public class StockChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "feed_offset")
+    private Long feedOffset;
+
+    @Column(name = "book_id", nullable = false)
+    private Long bookId;
+
+    @Column(name = "member_id")
+    private Long memberId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", length = 16, nullable = false)
+    private StockChangeType changeType;
+
+    @Column(name = "amount", nullable = false)
+    private int amount;
+
+    @Column(name = "borrowed_count", nullable = false)
+    private int borrowedCount;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
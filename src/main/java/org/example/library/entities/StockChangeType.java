@@ -0,0 +1,8 @@
+package org.example.library.entities;
+
+public enum StockChangeType {
+    ADDED,
+    BORROWED,
+    RETURNED,
+    DELETED
+}
@@ -0,0 +1,10 @@
+package org.example.library.events;
+
+import java.util.Arrays;
+import java.util.Set;
+
+public record BookChangedEvent(Set<Long> bookIds, Set<String> authors) {
+    public static BookChangedEvent of(Long bookId, String... authors) {
+        return new BookChangedEvent(Set.of(bookId), Set.copyOf(Arrays.asList(authors)));
+    }
+}
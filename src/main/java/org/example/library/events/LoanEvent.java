@@ -0,0 +1,20 @@
+package org.example.library.events;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public record LoanEvent(Type type, Long memberId, List<Long> bookIds, Instant occurredAt) {
+    public enum Type {
+        BORROW,
+        RETURN
+    }
+
+    public static LoanEvent borrowed(Long memberId, Collection<Long> bookIds) {
+        return new LoanEvent(Type.BORROW, memberId, List.copyOf(bookIds), Instant.now());
+    }
+
+    public static LoanEvent returned(Long memberId, Collection<Long> bookIds) {
+        return new LoanEvent(Type.RETURN, memberId, List.copyOf(bookIds), Instant.now());
+    }
+}
@@ -0,0 +1,4 @@
+package org.example.library.events;
+
+public record StockFeedAdvancedEvent(long lastOffset) {
+}
@@ -0,0 +1,162 @@
+package org.example.library.history;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.library.events.LoanEvent;
+import org.example.library.repositories.LoanHistoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "library.loan-history.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class LoanHistoryWriter implements SmartLifecycle {
+    private final LoanHistoryRepository loanHistoryRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${library.loan-history.queue-capacity:65536}")
+    @Setter
+    private int queueCapacity;
+
+    @Value("${library.loan-history.batch-size:500}")
+    @Setter
+    private int batchSize;
+
+    @Value("${library.loan-history.offer-timeout:0ms}")
+    @Setter
+    private Duration offerTimeout;
+
+    @Value("${library.loan-history.poll-interval:100ms}")
+    @Setter
+    private Duration pollInterval;
+
+    @Value("${library.loan-history.shutdown-timeout:10s}")
+    @Setter
+    private Duration shutdownTimeout;
+
+    private volatile BlockingQueue<LoanEvent> queue;
+    private volatile boolean running;
+    private Thread writer;
+
+    @TransactionalEventListener
+    public void onLoan(LoanEvent event) {
+        record(event);
+    }
+
+    public boolean record(LoanEvent event) {
+        BlockingQueue<LoanEvent> target = queue;
+        if (!running || target == null) {
+            lost(event.bookIds().size(), "stopped");
+            return false;
+        }
+        boolean accepted;
+        try {
+            accepted = offerTimeout.isZero() ? target.offer(event) : target.offer(event, offerTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            lost(event.bookIds().size(), "queue_full");
+        }
+        return accepted;
+    }
+
+    @Override
+    public synchronized void start() {
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        meterRegistry.gauge("library.loan_history.queue.size", queue, Collection::size);
+        running = true;
+        writer = Thread.ofPlatform().name("loan-history-writer").daemon().start(this::drain);
+    }
+
+    @Override
+    public void stop() {
+        Thread thread;
+        synchronized (this) {
+            running = false;
+            thread = writer;
+            writer = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join(shutdownTimeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Loan history writer did not finish within {}, {} queued events may be lost", shutdownTimeout, queue.size());
+            return;
+        }
+        flush();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void drain() {
+        List<LoanEvent> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                LoanEvent first = queue.poll(pollInterval.toNanos(), TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        flush();
+    }
+
+    private void flush() {
+        List<LoanEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<LoanEvent> batch) {
+        try {
+            int rows = loanHistoryRepository.insertAll(batch);
+            meterRegistry.counter("library.loan_history.written").increment(rows);
+        } catch (RuntimeException e) {
+            int rows = batch.stream().mapToInt(event -> event.bookIds().size()).sum();
+            lost(rows, "write_failed");
+            log.warn("Lost {} loan history rows, the batch insert failed: {}", rows, e.getMessage());
+        }
+    }
+
+    private void lost(int rows, String reason) {
+        meterRegistry.counter("library.loan_history.lost", "reason", reason).increment(rows);
+    }
+}
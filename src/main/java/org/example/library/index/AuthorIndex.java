@@ -0,0 +1,282 @@
+package org.example.library.index;
+
+import java.util.Arrays;
+import java.util.function.IntPredicate;
+
+public final class AuthorIndex {
+    private static final AuthorIndex EMPTY = builder().build();
+
+    private final char[] names;
+    private final int[] nameStarts;
+    private final int[] titleCounts;
+    private final int[] entryAuthors;
+    private final int[] entryStarts;
+
+    private AuthorIndex(char[] names, int[] nameStarts, int[] titleCounts, int[] entryAuthors, int[] entryStarts) {
+        this.names = names;
+        this.nameStarts = nameStarts;
+        this.titleCounts = titleCounts;
+        this.entryAuthors = entryAuthors;
+        this.entryStarts = entryStarts;
+    }
+
+    public static AuthorIndex empty() {
+        return EMPTY;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return titleCounts.length;
+    }
+
+    public String author(int ordinal) {
+        return new String(names, nameStarts[ordinal], nameStarts[ordinal + 1] - nameStarts[ordinal]);
+    }
+
+    public int titleCount(int ordinal) {
+        return titleCounts[ordinal];
+    }
+
+    public long estimatedBytes() {
+        return 16L + 2L * names.length + 4L * (nameStarts.length + titleCounts.length + entryAuthors.length + entryStarts.length) + 5 * 16L;
+    }
+
+    public int indexOf(String author) {
+        for (int entry = lowerBound(author); entry < entryAuthors.length && compare(entry, author, false) == 0; entry++) {
+            int ordinal = entryAuthors[entry];
+            if (entryStarts[entry] == nameStarts[ordinal] && equalsExactly(ordinal, author)) {
+                return ordinal;
+            }
+        }
+        return -1;
+    }
+
+    public int search(String prefix, int[] results, IntPredicate accept) {
+        int found = 0;
+        for (int entry = lowerBound(prefix); entry < entryAuthors.length && found < results.length && compare(entry, prefix, true) == 0; entry++) {
+            int ordinal = entryAuthors[entry];
+            if (!contains(results, found, ordinal) && accept.test(ordinal)) {
+                results[found++] = ordinal;
+            }
+        }
+        return found;
+    }
+
+    public static boolean matches(String author, String prefix) {
+        for (int start = 0; start >= 0; start = nextWord(author, start)) {
+            if (author.regionMatches(true, start, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = entryAuthors.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compare(middle, key, false) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int compare(int entry, String key, boolean prefix) {
+        int position = entryStarts[entry];
+        int end = nameStarts[entryAuthors[entry] + 1];
+        int length = Math.min(end - position, key.length());
+        for (int i = 0; i < length; i++) {
+            int difference = Character.toLowerCase(names[position + i]) - Character.toLowerCase(key.charAt(i));
+            if (difference != 0) {
+                return difference;
+            }
+        }
+        return prefix && end - position >= key.length() ? 0 : (end - position) - key.length();
+    }
+
+    private boolean equalsExactly(int ordinal, String author) {
+        int start = nameStarts[ordinal];
+        if (nameStarts[ordinal + 1] - start != author.length()) {
+            return false;
+        }
+        for (int i = 0; i < author.length(); i++) {
+            if (names[start + i] != author.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] values, int length, int value) {
+        for (int i = 0; i < length; i++) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int nextWord(String author, int from) {
+        int space = author.indexOf(' ', from);
+        return space < 0 || space + 1 >= author.length() ? -1 : space + 1;
+    }
+
+    public static final class Builder {
+        private char[] names = new char[256];
+        private int[] nameStarts = new int[17];
+        private int[] titleCounts = new int[16];
+        private int size;
+        private int length;
+
+        private Builder() {
+        }
+
+        public Builder add(String author, int titleCount) {
+            ensureCapacity(author.length());
+            author.getChars(0, author.length(), names, length);
+            return append(author.length(), titleCount);
+        }
+
+        public Builder add(AuthorIndex index, int ordinal, int titleCount) {
+            int start = index.nameStarts[ordinal];
+            int nameLength = index.nameStarts[ordinal + 1] - start;
+            ensureCapacity(nameLength);
+            System.arraycopy(index.names, start, names, length, nameLength);
+            return append(nameLength, titleCount);
+        }
+
+        public AuthorIndex build() {
+            char[] packedNames = Arrays.copyOf(names, length);
+            int[] starts = Arrays.copyOf(nameStarts, size + 1);
+            int entries = size;
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                for (int i = starts[ordinal]; i < starts[ordinal + 1] - 1; i++) {
+                    if (isWordStart(packedNames, i + 1)) {
+                        entries++;
+                    }
+                }
+            }
+            int[] entryAuthors = new int[entries];
+            int[] entryStarts = new int[entries];
+            int entry = 0;
+            for (int ordinal = 0; ordinal < size; ordinal++) {
+                entryAuthors[entry] = ordinal;
+                entryStarts[entry++] = starts[ordinal];
+                for (int i = starts[ordinal]; i < starts[ordinal + 1] - 1; i++) {
+                    if (isWordStart(packedNames, i + 1)) {
+                        entryAuthors[entry] = ordinal;
+                        entryStarts[entry++] = i + 1;
+                    }
+                }
+            }
+            AuthorIndex unsorted = new AuthorIndex(packedNames, starts, Arrays.copyOf(titleCounts, size), entryAuthors, entryStarts);
+            sortEntries(unsorted);
+            return unsorted;
+        }
+
+        private Builder append(int nameLength, int titleCount) {
+            if (size + 1 == titleCounts.length) {
+                titleCounts = Arrays.copyOf(titleCounts, titleCounts.length * 2);
+                nameStarts = Arrays.copyOf(nameStarts, nameStarts.length * 2);
+            }
+            titleCounts[size] = titleCount;
+            length += nameLength;
+            nameStarts[++size] = length;
+            return this;
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > names.length) {
+                names = Arrays.copyOf(names, Math.max(names.length * 2, length + extra));
+            }
+        }
+
+        private static boolean isWordStart(char[] names, int position) {
+            return names[position - 1] == ' ' && names[position] != ' ';
+        }
+
+        private static void sortEntries(AuthorIndex index) {
+            int entries = index.entryAuthors.length;
+            int[] order = new int[entries];
+            long[] keys = new long[2 * entries];
+            for (int i = 0; i < entries; i++) {
+                order[i] = i;
+                keys[2 * i] = leadingChars(index, i, 0);
+                keys[2 * i + 1] = leadingChars(index, i, 4);
+            }
+            mergeSort(index, keys, order, new long[2 * entries], new int[entries], 0, entries);
+            int[] authors = new int[entries];
+            int[] starts = new int[entries];
+            for (int i = 0; i < entries; i++) {
+                authors[i] = index.entryAuthors[order[i]];
+                starts[i] = index.entryStarts[order[i]];
+            }
+            System.arraycopy(authors, 0, index.entryAuthors, 0, entries);
+            System.arraycopy(starts, 0, index.entryStarts, 0, entries);
+        }
+
+        private static void mergeSort(AuthorIndex index, long[] keys, int[] order, long[] keyBuffer, int[] orderBuffer, int from, int to) {
+            if (to - from < 2) {
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            mergeSort(index, keys, order, keyBuffer, orderBuffer, from, middle);
+            mergeSort(index, keys, order, keyBuffer, orderBuffer, middle, to);
+            if (compareEntries(index, keys, middle - 1, order[middle - 1], keys, middle, order[middle]) <= 0) {
+                return;
+            }
+            System.arraycopy(keys, 2 * from, keyBuffer, 2 * from, 2 * (to - from));
+            System.arraycopy(order, from, orderBuffer, from, to - from);
+            int left = from;
+            int right = middle;
+            for (int i = from; i < to; i++) {
+                boolean takeLeft = right >= to || left < middle
+                        && compareEntries(index, keyBuffer, left, orderBuffer[left], keyBuffer, right, orderBuffer[right]) <= 0;
+                int source = takeLeft ? left++ : right++;
+                keys[2 * i] = keyBuffer[2 * source];
+                keys[2 * i + 1] = keyBuffer[2 * source + 1];
+                order[i] = orderBuffer[source];
+            }
+        }
+
+        private static long leadingChars(AuthorIndex index, int entry, int offset) {
+            int position = index.entryStarts[entry] + offset;
+            int end = index.nameStarts[index.entryAuthors[entry] + 1];
+            long packed = 0;
+            for (int i = 0; i < 4; i++) {
+                packed = (packed << 16) | (position + i < end ? Character.toLowerCase(index.names[position + i]) : 0);
+            }
+            return packed;
+        }
+
+        private static int compareEntries(AuthorIndex index, long[] firstKeys, int firstSlot, int first, long[] secondKeys, int secondSlot, int second) {
+            int leading = Long.compareUnsigned(firstKeys[2 * firstSlot], secondKeys[2 * secondSlot]);
+            if (leading == 0) {
+                leading = Long.compareUnsigned(firstKeys[2 * firstSlot + 1], secondKeys[2 * secondSlot + 1]);
+            }
+            if (leading != 0) {
+                return leading;
+            }
+            int firstPosition = index.entryStarts[first];
+            int firstEnd = index.nameStarts[index.entryAuthors[first] + 1];
+            int secondPosition = index.entryStarts[second];
+            int secondEnd = index.nameStarts[index.entryAuthors[second] + 1];
+            int length = Math.min(firstEnd - firstPosition, secondEnd - secondPosition);
+            for (int i = 0; i < length; i++) {
+                int difference = Character.toLowerCase(index.names[firstPosition + i]) - Character.toLowerCase(index.names[secondPosition + i]);
+                if (difference != 0) {
+                    return difference;
+                }
+            }
+            int difference = (firstEnd - firstPosition) - (secondEnd - secondPosition);
+            return difference != 0 ? difference : Integer.compare(index.entryAuthors[first], index.entryAuthors[second]);
+        }
+    }
+}
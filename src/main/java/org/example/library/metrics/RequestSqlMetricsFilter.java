@@ -0,0 +1,72 @@
+package org.example.library.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RequestSqlMetricsFilter extends OncePerRequestFilter {
+    private final SqlStatementCounter sqlStatementCounter;
+    private final SqlBudgetProperties sqlBudgetProperties;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        sqlStatementCounter.reset();
+        IllegalStateException budgetExceeded;
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            budgetExceeded = complete(request);
+        }
+        if (budgetExceeded != null) {
+            throw budgetExceeded;
+        }
+    }
+
+    private IllegalStateException complete(HttpServletRequest request) {
+        try {
+            return request.isAsyncStarted() ? null : record(request);
+        } finally {
+            sqlStatementCounter.stop();
+        }
+    }
+
+    private IllegalStateException record(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+        int statements = sqlStatementCounter.count();
+        DistributionSummary.builder("library.http.sql.statements")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(statements);
+
+        String endpoint = request.getMethod() + " " + uri;
+        int budget = sqlBudgetProperties.limitFor(endpoint);
+        if (statements <= budget) {
+            return null;
+        }
+        String summary = sqlStatementCounter.summary();
+        log.warn("SQL statement budget exceeded for {}: {} > {} ({})", endpoint, statements, budget, summary);
+        meterRegistry.counter("library.http.sql.budget.exceeded", "method", request.getMethod(), "uri", uri).increment();
+        if (!sqlBudgetProperties.failOnExceed()) {
+            return null;
+        }
+        return new IllegalStateException("SQL statement budget exceeded for " + endpoint + ": " + statements + " > " + budget + " (" + summary + ")");
+    }
+}
@@ -0,0 +1,102 @@
+package org.example.library.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnProperty(name = "library.metrics.services.enabled", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    static final String TIMER_NAME = "library.service.calls";
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    @Around("execution(public * org.example.library.services.BookService.*(..))" +
+            " || execution(public * org.example.library.services.MemberService.*(..))" +
+            " || execution(public * org.example.library.services.BorrowingsService.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer[] methodTimers = timersFor(((MethodSignature) joinPoint.getSignature()).getMethod());
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.OK;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = Outcome.of(e);
+            throw e;
+        } finally {
+            methodTimers[outcome.ordinal()].record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer[] timersFor(Method method) {
+        Timer[] methodTimers = timers.get(method);
+        if (methodTimers == null) {
+            methodTimers = timers.computeIfAbsent(method, this::register);
+        }
+        return methodTimers;
+    }
+
+    private Timer[] register(Method method) {
+        Outcome[] outcomes = Outcome.values();
+        Timer[] methodTimers = new Timer[outcomes.length];
+        for (Outcome outcome : outcomes) {
+            methodTimers[outcome.ordinal()] = Timer.builder(TIMER_NAME)
+                    .tag("service", method.getDeclaringClass().getSimpleName())
+                    .tag("method", method.getName())
+                    .tag("outcome", outcome.tag)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry);
+        }
+        return methodTimers;
+    }
+
+    enum Outcome {
+        OK("ok"),
+        NOT_FOUND("not-found"),
+        CONFLICT("conflict"),
+        INVALID("invalid"),
+        ERROR("error");
+
+        private final String tag;
+
+        Outcome(String tag) {
+            this.tag = tag;
+        }
+
+        static Outcome of(Throwable e) {
+            if (e instanceof NoSuchElementException) {
+                return NOT_FOUND;
+            }
+            if (e instanceof IllegalStateException || e instanceof ConcurrencyFailureException
+                    || e instanceof OptimisticLockException || e instanceof DataIntegrityViolationException) {
+                return CONFLICT;
+            }
+            if (e instanceof IllegalArgumentException) {
+                return INVALID;
+            }
+            return ERROR;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package org.example.library.metrics;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "library.sql.budget")
+public record SqlBudgetProperties(Integer defaultLimit, Map<String, Integer> endpoints, boolean failOnExceed) {
+    private static final int FALLBACK_LIMIT = 25;
+
+    public int limitFor(String endpoint) {
+        Integer limit = endpoints == null ? null : endpoints.get(endpoint);
+        if (limit != null) {
+            return limit;
+        }
+        return defaultLimit == null ? FALLBACK_LIMIT : defaultLimit;
+    }
+}
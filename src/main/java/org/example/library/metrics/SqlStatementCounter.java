@@ -0,0 +1,93 @@
+package org.example.library.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+@Component
+public class SqlStatementCounter implements QueryExecutionListener {
+    private static final Logger SQL_LOG = LoggerFactory.getLogger("library.sql");
+    private static final int SUMMARY_STATEMENTS = 5;
+    private static final int SUMMARY_SQL_LENGTH = 120;
+
+    private static final ThreadLocal<Statements> STATEMENTS = ThreadLocal.withInitial(Statements::new);
+
+    @Value("${library.sql.log.sample-rate:0}")
+    private double sampleRate;
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        for (QueryInfo queryInfo : queryInfoList) {
+            record(queryInfo.getQuery());
+        }
+    }
+
+    public void record(String sql) {
+        Statements statements = STATEMENTS.get();
+        if (!statements.active) {
+            return;
+        }
+        statements.count++;
+        int[] executions = statements.bySql.get(sql);
+        if (executions == null) {
+            statements.bySql.put(sql, new int[]{1});
+        } else {
+            executions[0]++;
+        }
+        if (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate) {
+            SQL_LOG.atInfo()
+                    .addKeyValue("statement", statements.count)
+                    .addKeyValue("sql", sql)
+                    .log("sql");
+        }
+    }
+
+    public void reset() {
+        Statements statements = STATEMENTS.get();
+        statements.active = true;
+        statements.count = 0;
+        statements.bySql.clear();
+    }
+
+    public void stop() {
+        STATEMENTS.remove();
+    }
+
+    public int count() {
+        return STATEMENTS.get().count;
+    }
+
+    public String summary() {
+        return STATEMENTS.get().bySql.entrySet().stream()
+                .sorted(Comparator.comparingInt((Map.Entry<String, int[]> entry) -> entry.getValue()[0]).reversed())
+                .limit(SUMMARY_STATEMENTS)
+                .map(entry -> entry.getValue()[0] + "x " + abbreviate(entry.getKey()))
+                .collect(Collectors.joining(" | "));
+    }
+
+    private static String abbreviate(String sql) {
+        String singleLine = sql.replaceAll("\\s+", " ").trim();
+        return singleLine.length() <= SUMMARY_SQL_LENGTH ? singleLine : singleLine.substring(0, SUMMARY_SQL_LENGTH) + "...";
+    }
+
+    private static final class Statements {
+        private final Map<String, int[]> bySql = new HashMap<>();
+        private int count;
+        private boolean active;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.library.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.example.library.dto.StockChangeDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "library.outbox.sink", havingValue = "file")
+@RequiredArgsConstructor
+public class FileStockChangeSink implements StockChangeSink {
+    private final ObjectMapper objectMapper;
+
+    @Value("${library.outbox.file.path:stock-changes.ndjson}")
+    @Setter
+    private Path path;
+
+    private ObjectWriter writer;
+    private FileChannel channel;
+
+    @PostConstruct
+    public synchronized void open() throws IOException {
+        writer = objectMapper.writerFor(StockChangeDto.class);
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    @Override
+    public synchronized void publish(List<StockChangeDto> changes) {
+        try {
+            ByteArrayOutputStream lines = new ByteArrayOutputStream(changes.size() * 160);
+            for (StockChangeDto change : changes) {
+                writer.writeValue(lines, change);
+                lines.write('\n');
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(lines.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
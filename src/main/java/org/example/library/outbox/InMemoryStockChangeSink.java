@@ -0,0 +1,35 @@
+package org.example.library.outbox;
+
+import lombok.Setter;
+import org.example.library.dto.StockChangeDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "library.outbox.sink", havingValue = "memory")
+public class InMemoryStockChangeSink implements StockChangeSink {
+    @Value("${library.outbox.memory.capacity:10000}")
+    @Setter
+    private int capacity;
+
+    private final Deque<StockChangeDto> changes = new ArrayDeque<>();
+
+    @Override
+    public synchronized void publish(List<StockChangeDto> batch) {
+        for (StockChangeDto change : batch) {
+            if (changes.size() == capacity) {
+                changes.removeFirst();
+            }
+            changes.addLast(change);
+        }
+    }
+
+    public synchronized List<StockChangeDto> changes() {
+        return List.copyOf(changes);
+    }
+}
@@ -0,0 +1,114 @@
+package org.example.library.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.example.library.dto.StockChangeDto;
+import org.example.library.dto.StockChangeFeedDto;
+import org.example.library.events.StockFeedAdvancedEvent;
+import org.example.library.repositories.StockOutboxRepository;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+@Component
+@RequiredArgsConstructor
+public class StockChangeFeed {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+    public static final int MAX_WAIT_SECONDS = 25;
+
+    private final StockOutboxRepository stockOutboxRepository;
+
+    private final Set<Waiter> waiters = ConcurrentHashMap.newKeySet();
+    private final AtomicLong lastOffset = new AtomicLong();
+
+    public CompletableFuture<StockChangeFeedDto> read(Long afterOffset, Integer limit, Integer waitSeconds) {
+        long after = afterOffset == null ? 0L : afterOffset;
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        int wait = waitSeconds == null ? 0 : waitSeconds;
+        if (after < 0) {
+            throw new IllegalArgumentException("Offset must not be negative");
+        }
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        if (wait < 0 || wait > MAX_WAIT_SECONDS) {
+            throw new IllegalArgumentException("Wait must be between 0 and " + MAX_WAIT_SECONDS + " seconds");
+        }
+        StockChangeFeedDto page = fetch(after, size);
+        if (!page.changes().isEmpty() || wait == 0) {
+            return CompletableFuture.completedFuture(page);
+        }
+        Waiter waiter = new Waiter(after, size, new CompletableFuture<>());
+        waiters.add(waiter);
+        waiter.result().completeOnTimeout(page, wait, TimeUnit.SECONDS).whenComplete((result, error) -> waiters.remove(waiter));
+        if (lastOffset.get() > after) {
+            wake(waiter);
+        }
+        return waiter.result();
+    }
+
+    @TransactionalEventListener
+    public void onFeedAdvanced(StockFeedAdvancedEvent event) {
+        advance(event.lastOffset());
+    }
+
+    @Scheduled(initialDelayString = "${library.outbox.feed.poll-interval:PT1S}", fixedDelayString = "${library.outbox.feed.poll-interval:PT1S}")
+    public void poll() {
+        if (!waiters.isEmpty()) {
+            advance(stockOutboxRepository.findLastFeedOffset());
+        }
+    }
+
+    int waiting() {
+        return waiters.size();
+    }
+
+    private void advance(long offset) {
+        if (offset <= lastOffset.getAndAccumulate(offset, Math::max)) {
+            return;
+        }
+        Map<Long, List<Waiter>> behind = waiters.stream()
+                .filter(waiter -> waiter.afterOffset() < offset)
+                .collect(Collectors.groupingBy(Waiter::afterOffset));
+        behind.forEach(this::wake);
+    }
+
+    private void wake(Waiter waiter) {
+        wake(waiter.afterOffset(), List.of(waiter));
+    }
+
+    private void wake(long afterOffset, List<Waiter> group) {
+        List<StockChangeDto> changes;
+        try {
+            int limit = group.stream().mapToInt(Waiter::limit).max().orElse(DEFAULT_LIMIT);
+            changes = stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(afterOffset, Limit.of(limit));
+        } catch (RuntimeException e) {
+            group.forEach(waiter -> waiter.result().completeExceptionally(e));
+            return;
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+        for (Waiter waiter : group) {
+            waiter.result().complete(StockChangeFeedDto.of(changes.subList(0, Math.min(waiter.limit(), changes.size())), afterOffset));
+        }
+    }
+
+    private StockChangeFeedDto fetch(long afterOffset, int limit) {
+        List<StockChangeDto> changes = stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(afterOffset, Limit.of(limit));
+        return StockChangeFeedDto.of(changes, afterOffset);
+    }
+
+    private record Waiter(long afterOffset, int limit, CompletableFuture<StockChangeFeedDto> result) {
+    }
+}
@@ -0,0 +1,9 @@
+package org.example.library.outbox;
+
+import org.example.library.dto.StockChangeDto;
+
+import java.util.List;
+
+public interface StockChangeSink {
+    void publish(List<StockChangeDto> changes);
+}
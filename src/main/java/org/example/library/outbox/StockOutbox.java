@@ -0,0 +1,24 @@
+package org.example.library.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.example.library.entities.StockChangeType;
+import org.example.library.repositories.StockOutboxRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+
+@Component
+@RequiredArgsConstructor
+public class StockOutbox {
+    private final StockOutboxRepository stockOutboxRepository;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(StockChangeType changeType, Long memberId, Collection<Long> bookIds) {
+        if (bookIds.isEmpty()) {
+            return;
+        }
+        stockOutboxRepository.insertChanges(changeType.name(), memberId, bookIds);
+    }
+}
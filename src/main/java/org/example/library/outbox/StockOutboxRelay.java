@@ -0,0 +1,71 @@
+package org.example.library.outbox;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.library.dto.StockChangeDto;
+import org.example.library.events.StockFeedAdvancedEvent;
+import org.example.library.repositories.StockOutboxRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "library.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class StockOutboxRelay {
+    static final long RELAY_LOCK = 0x6c69627261727931L;
+
+    private final StockOutboxRepository stockOutboxRepository;
+    private final List<StockChangeSink> sinks;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${library.outbox.batch-size:500}")
+    @Setter
+    private int batchSize;
+
+    @Value("${library.outbox.retention:P7D}")
+    @Setter
+    private Duration retention;
+
+    @Scheduled(initialDelayString = "${library.outbox.relay-interval:PT0.2S}", fixedDelayString = "${library.outbox.relay-interval:PT0.2S}")
+    @Transactional
+    public int relay() {
+        if (!stockOutboxRepository.tryRelayLock(RELAY_LOCK)) {
+            return 0;
+        }
+        long lastOffset = stockOutboxRepository.findLastFeedOffset();
+        int assigned = stockOutboxRepository.assignFeedOffsets(lastOffset, batchSize);
+        if (assigned == 0) {
+            return 0;
+        }
+        List<StockChangeDto> changes = stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(lastOffset, Limit.of(assigned));
+        for (StockChangeSink sink : sinks) {
+            sink.publish(changes);
+        }
+        meterRegistry.counter("library.outbox.relayed").increment(assigned);
+        eventPublisher.publishEvent(new StockFeedAdvancedEvent(lastOffset + assigned));
+        return assigned;
+    }
+
+    @Scheduled(initialDelayString = "${library.outbox.cleanup-interval:PT1H}", fixedDelayString = "${library.outbox.cleanup-interval:PT1H}")
+    @Transactional
+    public int purge() {
+        int deleted = stockOutboxRepository.deletePublishedBefore(Instant.now().minus(retention));
+        if (deleted > 0) {
+            log.info("Purged {} published stock changes older than {}", deleted, retention);
+        }
+        return deleted;
+    }
+}
@@ -0,0 +1,20 @@
+package org.example.library.policy;
+
+import org.example.library.entities.MemberTier;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public record BorrowingPolicy(Integer defaultLimit,
+                              Map<MemberTier, Integer> tierLimits,
+                              List<TitleLimit> titleLimits,
+                              List<Blackout> blackouts) {
+
+    public record TitleLimit(String title, String author, Integer limit) {
+    }
+
+    public record Blackout(Instant from, Instant to, Set<String> titles, Set<MemberTier> tiers) {
+    }
+}
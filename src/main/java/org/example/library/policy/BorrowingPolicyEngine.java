@@ -0,0 +1,74 @@
+package org.example.library.policy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BorrowingPolicyEngine {
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${library.policy.location:classpath:borrowing-policy.json}")
+    @Setter
+    private String location;
+
+    @Value("${BOOK_LIMIT:10}")
+    @Setter
+    private int bookLimit;
+
+    private volatile CompiledBorrowingPolicy current;
+    private byte[] loadedContent;
+
+    @PostConstruct
+    public void init() throws IOException {
+        reload();
+    }
+
+    public CompiledBorrowingPolicy current() {
+        return current;
+    }
+
+    public synchronized boolean reload() throws IOException {
+        byte[] content;
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream inputStream = resource.getInputStream()) {
+            content = inputStream.readAllBytes();
+        }
+        if (current != null && Arrays.equals(content, loadedContent)) {
+            return false;
+        }
+        BorrowingPolicy definition = objectMapper.readValue(content, BorrowingPolicy.class);
+        current = CompiledBorrowingPolicy.compile(definition, bookLimit);
+        loadedContent = content;
+        return true;
+    }
+
+    @Scheduled(initialDelayString = "${library.policy.reload-interval:PT30S}", fixedDelayString = "${library.policy.reload-interval:PT30S}")
+    public void refresh() {
+        try {
+            if (reload()) {
+                meterRegistry.counter("library.policy.reloads", "outcome", "ok").increment();
+                log.info("Borrowing policy reloaded from {}", location);
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            meterRegistry.counter("library.policy.reloads", "outcome", "failed").increment();
+            log.warn("Borrowing policy at {} was not reloaded, keeping the previous one: {}", location, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package org.example.library.policy;
+
+import lombok.Getter;
+import org.example.library.entities.MemberTier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public final class CompiledBorrowingPolicy {
+    private static final MemberTier[] TIERS = MemberTier.values();
+    private static final int NO_LIMIT = -1;
+
+    @Getter
+    private final BorrowingPolicy definition;
+    private final int[] tierLimits;
+    private final Map<TitleKey, Integer> titleLimits;
+    private final Blackout[] blackouts;
+    private final boolean needsTitle;
+
+    private CompiledBorrowingPolicy(BorrowingPolicy definition, int[] tierLimits, Map<TitleKey, Integer> titleLimits, Blackout[] blackouts) {
+        this.definition = definition;
+        this.tierLimits = tierLimits;
+        this.titleLimits = titleLimits;
+        this.blackouts = blackouts;
+        boolean titleBlackouts = false;
+        for (Blackout blackout : blackouts) {
+            titleBlackouts |= blackout.titles != null;
+        }
+        this.needsTitle = !titleLimits.isEmpty() || titleBlackouts;
+    }
+
+    public static CompiledBorrowingPolicy compile(BorrowingPolicy definition, int fallbackLimit) {
+        int defaultLimit = definition.defaultLimit() != null ? definition.defaultLimit() : fallbackLimit;
+        requireNonNegative(defaultLimit, "defaultLimit");
+
+        int[] tierLimits = new int[TIERS.length];
+        for (MemberTier tier : TIERS) {
+            Integer limit = definition.tierLimits() == null ? null : definition.tierLimits().get(tier);
+            tierLimits[tier.ordinal()] = limit != null ? requireNonNegative(limit, "tierLimits." + tier) : defaultLimit;
+        }
+
+        List<BorrowingPolicy.TitleLimit> limits = definition.titleLimits() == null ? List.of() : definition.titleLimits();
+        Map<TitleKey, Integer> titleLimits = new HashMap<>();
+        for (int i = 0; i < limits.size(); i++) {
+            BorrowingPolicy.TitleLimit rule = limits.get(i);
+            if (rule.title() == null || rule.author() == null || rule.limit() == null) {
+                throw new IllegalArgumentException("titleLimits[" + i + "] must have title, author and limit");
+            }
+            if (titleLimits.put(new TitleKey(rule.title(), rule.author()), requireNonNegative(rule.limit(), "titleLimits[" + i + "].limit")) != null) {
+                throw new IllegalArgumentException("titleLimits[" + i + "] repeats " + rule.title() + " by " + rule.author());
+            }
+        }
+
+        List<BorrowingPolicy.Blackout> rules = definition.blackouts() == null ? List.of() : definition.blackouts();
+        Blackout[] blackouts = new Blackout[rules.size()];
+        for (int i = 0; i < blackouts.length; i++) {
+            BorrowingPolicy.Blackout rule = rules.get(i);
+            if (rule.from() == null || rule.to() == null || !rule.from().isBefore(rule.to())) {
+                throw new IllegalArgumentException("blackouts[" + i + "] must have from before to");
+            }
+            blackouts[i] = new Blackout(rule.from().toEpochMilli(), rule.to().toEpochMilli(),
+                    rule.titles() == null || rule.titles().isEmpty() ? null : Set.copyOf(rule.titles()),
+                    tierMask(rule.tiers()));
+        }
+        return new CompiledBorrowingPolicy(definition, tierLimits, titleLimits, blackouts);
+    }
+
+    public boolean needsTitle() {
+        return needsTitle;
+    }
+
+    public boolean limitsTitle(String title, String author) {
+        return title != null && titleLimits.containsKey(new TitleKey(title, author));
+    }
+
+    public int memberLimit(MemberTier tier) {
+        return tierLimits[tier.ordinal()];
+    }
+
+    public PolicyViolation evaluate(MemberTier tier, long memberLoans, String title, String author, long titleLoans, long nowMillis) {
+        if (memberLoans >= tierLimits[tier.ordinal()]) {
+            return PolicyViolation.MEMBER_LIMIT;
+        }
+        for (Blackout blackout : blackouts) {
+            if (blackout.applies(tier, title, nowMillis)) {
+                return PolicyViolation.BLACKOUT;
+            }
+        }
+        int titleLimit = title == null ? NO_LIMIT : titleLimits.getOrDefault(new TitleKey(title, author), NO_LIMIT);
+        if (titleLimit != NO_LIMIT && titleLoans >= titleLimit) {
+            return PolicyViolation.TITLE_LIMIT;
+        }
+        return null;
+    }
+
+    private static int requireNonNegative(int value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(name + " must not be negative");
+        }
+        return value;
+    }
+
+    private static int tierMask(Set<MemberTier> tiers) {
+        if (tiers == null || tiers.isEmpty()) {
+            return -1;
+        }
+        int mask = 0;
+        for (MemberTier tier : tiers) {
+            mask |= 1 << tier.ordinal();
+        }
+        return mask;
+    }
+
+    private record TitleKey(String title, String author) {
+    }
+
+    private record Blackout(long from, long to, Set<String> titles, int tierMask) {
+        boolean applies(MemberTier tier, String title, long nowMillis) {
+            return nowMillis >= from && nowMillis < to
+                    && (tierMask & (1 << tier.ordinal())) != 0
+                    && (titles == null || title != null && titles.contains(title));
+        }
+    }
+}
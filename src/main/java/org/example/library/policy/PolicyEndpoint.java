@@ -0,0 +1,27 @@
+package org.example.library.policy;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.jmx.annotation.JmxEndpoint;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Component
+@JmxEndpoint(id = "policy")
+@RequiredArgsConstructor
+public class PolicyEndpoint {
+    private final BorrowingPolicyEngine borrowingPolicyEngine;
+
+    @ReadOperation
+    public BorrowingPolicy policy() {
+        return borrowingPolicyEngine.current().getDefinition();
+    }
+
+    @WriteOperation
+    public BorrowingPolicy reload() throws IOException {
+        borrowingPolicyEngine.reload();
+        return borrowingPolicyEngine.current().getDefinition();
+    }
+}
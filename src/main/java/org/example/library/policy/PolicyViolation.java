@@ -0,0 +1,16 @@
+package org.example.library.policy;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.example.library.dto.BatchOutcome;
+
+@Getter
+@RequiredArgsConstructor
+public enum PolicyViolation {
+    MEMBER_LIMIT("Borrowing limit reached for this member", BatchOutcome.LIMIT),
+    TITLE_LIMIT("Loan limit reached for this title", BatchOutcome.TITLE_LIMIT),
+    BLACKOUT("Borrowing is suspended for this book right now", BatchOutcome.BLACKOUT);
+
+    private final String message;
+    private final BatchOutcome batchOutcome;
+}
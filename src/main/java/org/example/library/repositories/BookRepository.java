@@ -1,19 +1,73 @@
 package org.example.library.repositories;
 
+import jakarta.persistence.QueryHint;
+import org.example.library.dto.AuthorCountDto;
 import org.example.library.dto.BookDto;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BorrowedCountDriftDto;
 import org.example.library.entities.Book;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
 import java.util.List;
-
+import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface BookRepository extends JpaRepository<Book, Long> {
     Book findByTitleAndAuthor(String title, String author);
 
-    @Query("select distinct b.title from Book b join b.members")
+    List<Book> findByTitleIn(Collection<String> titles);
+
+    @Query(value = "insert into books (id, title, author, amount, borrowed_count, version) values (nextval('books_id_seq'), :title, :author, :amount + 1, 0, 0) " +
+            "on conflict (title, author) do update set amount = books.amount + 1, version = books.version + 1 returning *", nativeQuery = true)
+    Book upsertCopy(String title, String author, int amount);
+
+    List<BookSummaryDto> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<BookSummaryDto> findByIdGreaterThanAndAuthorOrderByIdAsc(Long afterId, String author, Limit limit);
+
+    List<BookSummaryDto> findByIdGreaterThanAndTitleStartingWithOrderByIdAsc(Long afterId, String titlePrefix, Limit limit);
+
+    List<BookSummaryDto> findByIdGreaterThanAndAuthorAndTitleStartingWithOrderByIdAsc(Long afterId, String author, String titlePrefix, Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select distinct b.title from Book b where b.borrowedCount > 0")
     List<String> findAllDistinctBorrowedBooksNames();
 
-    @Query("select new org.example.library.dto.BookDto(b.title, count(m)) from Book b join b.members m group by b.title")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select new org.example.library.dto.BookDto(b.title, sum(b.borrowedCount)) from Book b where b.borrowedCount > 0 group by b.title")
     List<BookDto> findAllDistinctBorrowedBooksNamesWithCount();
+
+    @Modifying
+    @Query("update Book b set b.amount = b.amount - 1, b.borrowedCount = b.borrowedCount + 1, b.version = b.version + 1 where b.id = :id and b.amount > 0")
+    int borrowCopyIfAvailable(Long id);
+
+    @Modifying
+    @Query("update Book b set b.amount = b.amount + 1, b.borrowedCount = b.borrowedCount - 1, b.version = b.version + 1 where b.id in :ids")
+    int returnCopies(Collection<Long> ids);
+
+    List<BookSummaryDto> findByIdIn(Collection<Long> ids);
+
+    Optional<BookSummaryDto> findSummaryById(Long id);
+
+    @Query("select coalesce(sum(b.borrowedCount), 0) from Book b where b.title = :title and b.author = :author")
+    long countLoansByTitleAndAuthor(String title, String author);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "10000"))
+    @Query("select new org.example.library.dto.AuthorCountDto(b.author, count(b)) from Book b group by b.author")
+    Stream<AuthorCountDto> streamAuthorTitleCounts();
+
+    @Query("select new org.example.library.dto.AuthorCountDto(b.author, count(b)) from Book b where b.author in :authors group by b.author")
+    List<AuthorCountDto> countTitlesByAuthorIn(Collection<String> authors);
+
+    @Query("select b.id from Book b where b.id in :ids")
+    List<Long> findExistingIds(Collection<Long> ids);
+
+    @Query("select new org.example.library.dto.BorrowedCountDriftDto(b.id, b.title, b.borrowedCount, count(m)) from Book b left join b.members m group by b.id, b.title, b.borrowedCount having b.borrowedCount <> count(m)")
+    List<BorrowedCountDriftDto> findBorrowedCountDrift();
 }
@@ -0,0 +1,29 @@
+package org.example.library.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.library.dto.BookSearchResultDto;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class BookSearchRepository {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public List<BookSearchResultDto> search(String tsQuery, int offset, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("query", tsQuery)
+                .addValue("offset", offset)
+                .addValue("limit", limit);
+        return jdbcTemplate.query("select b.id, b.title, b.author, b.amount, ts_rank(b.search_vector, q) as rank " +
+                        "from books b, to_tsquery('simple', :query) q " +
+                        "where b.search_vector @@ q " +
+                        "order by rank desc, b.id " +
+                        "limit :limit offset :offset",
+                parameters,
+                (row, rowNum) -> new BookSearchResultDto(row.getLong("id"), row.getString("title"), row.getString("author"), row.getInt("amount"), row.getDouble("rank")));
+    }
+}
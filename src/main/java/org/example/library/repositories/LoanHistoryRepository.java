@@ -0,0 +1,65 @@
+package org.example.library.repositories;
+
+import lombok.RequiredArgsConstructor;
+import org.example.library.dto.LoanEventDto;
+import org.example.library.events.LoanEvent;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+@Repository
+@RequiredArgsConstructor
+public class LoanHistoryRepository {
+    private static final RowMapper<LoanEventDto> ROW_MAPPER = (row, rowNum) -> new LoanEventDto(
+            row.getLong("id"),
+            LoanEvent.Type.valueOf(row.getString("event_type")),
+            row.getLong("member_id"),
+            row.getLong("book_id"),
+            row.getTimestamp("occurred_at").toInstant());
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public int insertAll(List<LoanEvent> events) {
+        List<MapSqlParameterSource> rows = new ArrayList<>();
+        for (LoanEvent event : events) {
+            Timestamp occurredAt = Timestamp.from(event.occurredAt());
+            for (Long bookId : event.bookIds()) {
+                rows.add(new MapSqlParameterSource()
+                        .addValue("type", event.type().name())
+                        .addValue("memberId", event.memberId())
+                        .addValue("bookId", bookId)
+                        .addValue("occurredAt", occurredAt));
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into loan_events (event_type, member_id, book_id, occurred_at) " +
+                        "values (:type, :memberId, :bookId, :occurredAt)",
+                rows.toArray(MapSqlParameterSource[]::new));
+        return rows.size();
+    }
+
+    public List<LoanEventDto> findByBookId(Long bookId, Instant from, long beforeId, int limit) {
+        return find("book_id", bookId, from, beforeId, limit);
+    }
+
+    public List<LoanEventDto> findByMemberId(Long memberId, Instant from, long beforeId, int limit) {
+        return find("member_id", memberId, from, beforeId, limit);
+    }
+
+    private List<LoanEventDto> find(String column, Long id, Instant from, long beforeId, int limit) {
+        MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("from", Timestamp.from(from))
+                .addValue("beforeId", beforeId)
+                .addValue("limit", limit);
+        return jdbcTemplate.query("select id, event_type, member_id, book_id, occurred_at from loan_events " +
+                        "where " + column + " = :id and id < :beforeId and occurred_at >= :from " +
+                        "order by id desc limit :limit",
+                parameters, ROW_MAPPER);
+    }
+}
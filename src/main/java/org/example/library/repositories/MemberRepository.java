@@ -1,16 +1,70 @@
 package org.example.library.repositories;
 
-import io.micrometer.common.lang.NonNull;
+import jakarta.persistence.QueryHint;
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.dto.BorrowingExportDto;
+import org.example.library.dto.MemberSummaryDto;
 import org.example.library.entities.Member;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface MemberRepository extends JpaRepository<Member, Long> {
-    @Query("select distinct m from Member m left join fetch m.books where m.id=:id")
-    Optional<Member> findById(@NonNull Long id);
+    @EntityGraph(attributePaths = "books")
+    Optional<Member> findWithBooksById(Long id);
 
-    @Query("select distinct m from Member m left join fetch m.books where m.name=:name")
-    Member findByName(String name);
+    @Query("select new org.example.library.dto.BorrowedBookDto(m.id, b.id, b.title, b.author) from Member m join m.books b where m.name = :name order by m.id, b.id")
+    List<BorrowedBookDto> findBorrowedBooksByMemberName(String name);
+
+    boolean existsByName(String name);
+
+    List<MemberSummaryDto> findByIdGreaterThanOrderByIdAsc(Long afterId, Limit limit);
+
+    List<MemberSummaryDto> findByIdGreaterThanAndNameStartingWithOrderByIdAsc(Long afterId, String namePrefix, Limit limit);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select new org.example.library.dto.BorrowingExportDto(m.id, m.name, b.id, b.title) from Member m join m.books b where m.id >= :sinceMemberId order by m.id, b.id")
+    Stream<BorrowingExportDto> streamBorrowings(Long sinceMemberId);
+
+    @Query(value = "select id from members where id = :id for update", nativeQuery = true)
+    Optional<Long> lockById(Long id);
+
+    @Query(value = "select tier from members where id = :id for update", nativeQuery = true)
+    Optional<String> lockTierById(Long id);
+
+    @Query(value = "select count(*) from borrowings where member_id = :memberId", nativeQuery = true)
+    long countBorrowedBooks(Long memberId);
+
+    @Query(value = "select count(*) > 0 from borrowings where member_id = :memberId and book_id = :bookId", nativeQuery = true)
+    boolean existsBorrowing(Long memberId, Long bookId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "borrowings"))
+    @Query(value = "insert into borrowings (member_id, book_id) values (:memberId, :bookId)", nativeQuery = true)
+    void insertBorrowing(Long memberId, Long bookId);
+
+    @Query(value = "select book_id from borrowings where member_id = :memberId and book_id in (:bookIds)", nativeQuery = true)
+    List<Long> findBorrowedBookIds(Long memberId, Collection<Long> bookIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "borrowings"))
+    @Query(value = "insert into borrowings (member_id, book_id) select :memberId, b.id from books b where b.id in (:bookIds)", nativeQuery = true)
+    int insertBorrowings(Long memberId, Collection<Long> bookIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "borrowings"))
+    @Query(value = "delete from borrowings where member_id = :memberId and book_id in (:bookIds)", nativeQuery = true)
+    int deleteBorrowings(Long memberId, Collection<Long> bookIds);
 }
@@ -0,0 +1,52 @@
+package org.example.library.repositories;
+
+import io.r2dbc.spi.Readable;
+import lombok.RequiredArgsConstructor;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BorrowedBookDto;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@RequiredArgsConstructor
+public class ReactiveCatalogueRepository {
+    private static final int FETCH_SIZE = 256;
+
+    private final DatabaseClient databaseClient;
+
+    public Mono<BookSummaryDto> findBookById(Long id) {
+        return databaseClient.sql("select id, title, author, amount from books where id = :id")
+                .bind("id", id)
+                .map(ReactiveCatalogueRepository::toBookSummary)
+                .one();
+    }
+
+    public Flux<BookSummaryDto> findBooks(Long afterId) {
+        return databaseClient.sql("select id, title, author, amount from books where id > :afterId order by id")
+                .bind("afterId", afterId)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveCatalogueRepository::toBookSummary)
+                .all();
+    }
+
+    public Flux<BorrowedBookDto> findBorrowedBooksByMemberName(String name) {
+        return databaseClient.sql("select m.id as member_id, b.id, b.title, b.author from members m join borrowings w on w.member_id = m.id join books b on b.id = w.book_id where m.name = :name order by m.id, b.id")
+                .bind("name", name)
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(row -> new BorrowedBookDto(row.get("member_id", Long.class), row.get("id", Long.class), row.get("title", String.class), row.get("author", String.class)))
+                .all();
+    }
+
+    public Mono<Boolean> existsMemberByName(String name) {
+        return databaseClient.sql("select count(*) > 0 as found from members where name = :name")
+                .bind("name", name)
+                .map(row -> row.get("found", Boolean.class))
+                .one();
+    }
+
+    private static BookSummaryDto toBookSummary(Readable row) {
+        return new BookSummaryDto(row.get("id", Long.class), row.get("title", String.class), row.get("author", String.class), row.get("amount", Integer.class));
+    }
+}
@@ -0,0 +1,43 @@
+package org.example.library.repositories;
+
+import jakarta.persistence.QueryHint;
+import org.example.library.dto.StockChangeDto;
+import org.example.library.entities.StockChange;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+public interface StockOutboxRepository extends JpaRepository<StockChange, Long> {
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_outbox"))
+    @Query(value = "insert into stock_outbox (book_id, member_id, change_type, amount, borrowed_count, changed_at) " +
+            "select b.id, :memberId, :changeType, b.amount, b.borrowed_count, current_timestamp from books b where b.id in (:bookIds)", nativeQuery = true)
+    int insertChanges(String changeType, Long memberId, Collection<Long> bookIds);
+
+    @Query(value = "select pg_try_advisory_xact_lock(:key)", nativeQuery = true)
+    boolean tryRelayLock(long key);
+
+    @Query(value = "select coalesce(max(feed_offset), 0) from stock_outbox", nativeQuery = true)
+    long findLastFeedOffset();
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_outbox"))
+    @Query(value = "update stock_outbox o set feed_offset = :lastOffset + c.position " +
+            "from (select id, row_number() over (order by id) as position from stock_outbox where feed_offset is null order by id limit :limit) c " +
+            "where o.id = c.id", nativeQuery = true)
+    int assignFeedOffsets(long lastOffset, int limit);
+
+    List<StockChangeDto> findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(Long afterOffset, Limit limit);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "stock_outbox"))
+    @Query(value = "delete from stock_outbox where feed_offset is not null and changed_at < :before", nativeQuery = true)
+    int deletePublishedBefore(Instant before);
+}
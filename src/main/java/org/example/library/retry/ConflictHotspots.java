@@ -0,0 +1,58 @@
+package org.example.library.retry;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+@Component
+@RequiredArgsConstructor
+public class ConflictHotspots {
+    private static final int MAX_TRACKED = 1024;
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ConcurrentMap<String, LongAdder> conflicts = new ConcurrentHashMap<>();
+
+    void record(RuntimeException conflict) {
+        String key = keyOf(conflict);
+        LongAdder counter = conflicts.get(key);
+        if (counter == null) {
+            if (conflicts.size() >= MAX_TRACKED) {
+                return;
+            }
+            counter = conflicts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        counter.increment();
+    }
+
+    public Map<String, Long> top(int limit) {
+        Map<String, Long> result = new LinkedHashMap<>();
+        conflicts.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .limit(limit)
+                .forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+        return result;
+    }
+
+    private String keyOf(RuntimeException conflict) {
+        if (conflict instanceof ObjectOptimisticLockingFailureException lockFailure && lockFailure.getPersistentClassName() != null) {
+            String className = lockFailure.getPersistentClassName();
+            return className.substring(className.lastIndexOf('.') + 1) + "#" + lockFailure.getIdentifier();
+        }
+        if (conflict instanceof OptimisticLockException lockException && lockException.getEntity() != null) {
+            Object entity = lockException.getEntity();
+            return Hibernate.getClass(entity).getSimpleName() + "#" + entityManagerFactory.getPersistenceUnitUtil().getIdentifier(entity);
+        }
+        return "unknown";
+    }
+}
@@ -0,0 +1,56 @@
+package org.example.library.retry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class ConflictRetrier {
+    private final RetryProperties retryProperties;
+    private final MeterRegistry meterRegistry;
+    private final ConflictHotspots conflictHotspots;
+
+    private final Map<String, RetryProperties.Policy> policies = new ConcurrentHashMap<>();
+
+    public <T> T execute(String operation, Attempt<T> attempt) throws Throwable {
+        RetryProperties.Policy policy = policies.computeIfAbsent(operation, retryProperties::policyFor);
+        for (int attemptNumber = 1; ; attemptNumber++) {
+            try {
+                return attempt.run();
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                conflictHotspots.record(e);
+                meterRegistry.counter("library.retry.conflicts", "operation", operation).increment();
+                if (attemptNumber >= policy.maxAttempts()) {
+                    meterRegistry.counter("library.retry.exhausted", "operation", operation).increment();
+                    throw e;
+                }
+                meterRegistry.counter("library.retry.retries", "operation", operation).increment();
+                try {
+                    TimeUnit.NANOSECONDS.sleep(backoffNanos(policy, attemptNumber));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    static long backoffNanos(RetryProperties.Policy policy, int attemptNumber) {
+        long initial = policy.initialBackoff().toNanos();
+        long ceiling = Math.min(policy.maxBackoff().toNanos(), initial << Math.min(attemptNumber - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    @FunctionalInterface
+    public interface Attempt<T> {
+        T run() throws Throwable;
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.library.retry;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+@Component
+@Endpoint(id = "conflicts")
+@RequiredArgsConstructor
+public class ConflictsEndpoint {
+    private static final int TOP_ENTRIES = 50;
+
+    private final ConflictHotspots conflictHotspots;
+
+    @ReadOperation
+    public Map<String, Long> conflicts() {
+        return conflictHotspots.top(TOP_ENTRIES);
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.library.retry;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.Map;
+
+@ConfigurationProperties(prefix = "library.retry")
+public record RetryProperties(Policy defaults, Map<String, Policy> operations) {
+    private static final Policy FALLBACK = new Policy(3, Duration.ofMillis(10), Duration.ofMillis(200));
+
+    public Policy policyFor(String operation) {
+        Policy base = defaults == null ? FALLBACK : defaults.orElse(FALLBACK);
+        Policy override = operations == null ? null : operations.get(operation);
+        return override == null ? base : override.orElse(base);
+    }
+
+    public record Policy(Integer maxAttempts, Duration initialBackoff, Duration maxBackoff) {
+        Policy orElse(Policy other) {
+            return new Policy(
+                    maxAttempts != null ? maxAttempts : other.maxAttempts,
+                    initialBackoff != null ? initialBackoff : other.initialBackoff,
+                    maxBackoff != null ? maxBackoff : other.maxBackoff
+            );
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package org.example.library.services;
+
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.example.library.dto.AuthorCountDto;
+import org.example.library.dto.AuthorSuggestionDto;
+import org.example.library.events.BookChangedEvent;
+import org.example.library.index.AuthorIndex;
+import org.example.library.repositories.BookRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AuthorAutocompleteService {
+    public static final int DEFAULT_LIMIT = 10;
+    public static final int MAX_LIMIT = 50;
+
+    private final BookRepository bookRepository;
+
+    @Value("${library.authors.compact-threshold:256}")
+    @Setter
+    private int compactThreshold;
+
+    private final ConcurrentMap<String, Integer> pending = new ConcurrentHashMap<>();
+    private volatile AuthorIndex index = AuthorIndex.empty();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public synchronized void load() {
+        long started = System.nanoTime();
+        AuthorIndex.Builder builder = AuthorIndex.builder();
+        try (Stream<AuthorCountDto> rows = bookRepository.streamAuthorTitleCounts()) {
+            rows.forEach(row -> builder.add(row.author(), (int) row.titles()));
+        }
+        index = builder.build();
+        log.info("Author index loaded: {} authors, ~{} KiB in {} ms", index.size(), index.estimatedBytes() / 1024, (System.nanoTime() - started) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onBookChanged(BookChangedEvent event) {
+        if (event.authors().isEmpty()) {
+            return;
+        }
+        Map<String, Integer> counts = new HashMap<>();
+        event.authors().forEach(author -> counts.put(author, 0));
+        for (AuthorCountDto row : bookRepository.countTitlesByAuthorIn(event.authors())) {
+            counts.put(row.author(), (int) row.titles());
+        }
+        pending.putAll(counts);
+    }
+
+    @Scheduled(initialDelayString = "${library.authors.compact-interval:PT30S}", fixedDelayString = "${library.authors.compact-interval:PT30S}")
+    public synchronized void compact() {
+        if (pending.isEmpty() || pending.size() < compactThreshold) {
+            return;
+        }
+        AuthorIndex base = index;
+        Map<String, Integer> merged = new HashMap<>(pending);
+        int[] overrides = new int[base.size()];
+        Arrays.fill(overrides, -1);
+        List<String> added = new ArrayList<>();
+        merged.forEach((author, titles) -> {
+            int ordinal = base.indexOf(author);
+            if (ordinal >= 0) {
+                overrides[ordinal] = titles;
+            } else if (titles > 0) {
+                added.add(author);
+            }
+        });
+
+        AuthorIndex.Builder builder = AuthorIndex.builder();
+        for (int ordinal = 0; ordinal < base.size(); ordinal++) {
+            int titles = overrides[ordinal] < 0 ? base.titleCount(ordinal) : overrides[ordinal];
+            if (titles > 0) {
+                builder.add(base, ordinal, titles);
+            }
+        }
+        added.forEach(author -> builder.add(author, merged.get(author)));
+        index = builder.build();
+        merged.forEach((author, titles) -> pending.remove(author, titles));
+    }
+
+    public List<AuthorSuggestionDto> complete(String prefix, Integer limit) {
+        if (prefix == null || prefix.isBlank()) {
+            throw new IllegalArgumentException("Prefix must not be blank");
+        }
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT);
+        }
+        String key = prefix.stripLeading();
+        AuthorIndex snapshot = index;
+        List<AuthorSuggestionDto> suggestions = new ArrayList<>(size);
+
+        int[] ordinals = new int[size];
+        int found = snapshot.search(key, ordinals, ordinal -> titlesOf(snapshot, ordinal) > 0);
+        for (int i = 0; i < found; i++) {
+            suggestions.add(new AuthorSuggestionDto(snapshot.author(ordinals[i]), titlesOf(snapshot, ordinals[i])));
+        }
+        pending.forEach((author, titles) -> {
+            if (titles > 0 && AuthorIndex.matches(author, key) && snapshot.indexOf(author) < 0) {
+                suggestions.add(new AuthorSuggestionDto(author, titles));
+            }
+        });
+
+        suggestions.sort(Comparator.comparing(AuthorSuggestionDto::author, String.CASE_INSENSITIVE_ORDER));
+        return suggestions.size() > size ? List.copyOf(suggestions.subList(0, size)) : suggestions;
+    }
+
+    private int titlesOf(AuthorIndex snapshot, int ordinal) {
+        if (pending.isEmpty()) {
+            return snapshot.titleCount(ordinal);
+        }
+        Integer titles = pending.get(snapshot.author(ordinal));
+        return titles != null ? titles : snapshot.titleCount(ordinal);
+    }
+}
@@ -0,0 +1,165 @@
+package org.example.library.services;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import org.example.library.config.CacheConfig;
+import org.example.library.dto.BulkImportResultDto;
+import org.example.library.dto.ImportChunkResultDto;
+import org.example.library.dto.ImportErrorDto;
+import org.example.library.entities.Book;
+import org.example.library.entities.StockChangeType;
+import org.example.library.events.BookChangedEvent;
+import org.example.library.outbox.StockOutbox;
+import org.example.library.repositories.BookRepository;
+import org.example.library.retry.ConflictRetrier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class BookImportService {
+    private final BookRepository bookRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ConflictRetrier conflictRetrier;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockOutbox stockOutbox;
+
+    @Value("${library.import.chunk-size:1000}")
+    @Setter
+    private int chunkSize;
+
+    public BulkImportResultDto importBooks(InputStream inputStream) throws IOException {
+        List<ImportChunkResultDto> results = new ArrayList<>();
+        List<Book> chunk = new ArrayList<>(chunkSize);
+        List<ImportErrorDto> errors = new ArrayList<>();
+        long row = 0;
+        try (MappingIterator<Book> books = objectMapper.readerFor(Book.class).readValues(inputStream)) {
+            try {
+                while (books.hasNextValue()) {
+                    try {
+                        chunk.add(books.nextValue());
+                    } catch (JsonMappingException e) {
+                        chunk.add(null);
+                        errors.add(new ImportErrorDto(row, e.getOriginalMessage()));
+                    }
+                    row++;
+                    if (chunk.size() == chunkSize) {
+                        results.add(importChunk(results.size(), row - chunk.size(), chunk, errors));
+                        chunk = new ArrayList<>(chunkSize);
+                        errors = new ArrayList<>();
+                    }
+                }
+            } catch (JsonParseException e) {
+                chunk.add(null);
+                errors.add(new ImportErrorDto(row, "Malformed input, import stopped: " + e.getOriginalMessage()));
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.add(importChunk(results.size(), row - chunk.size(), chunk, errors));
+        }
+        return BulkImportResultDto.of(results);
+    }
+
+    private ImportChunkResultDto importChunk(int index, long firstRow, List<Book> rows, List<ImportErrorDto> errors) {
+        Map<BookKey, ImportedCopies> copies = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            Book book = rows.get(i);
+            if (book == null) {
+                continue;
+            }
+            Set<ConstraintViolation<Book>> violations = validator.validate(book);
+            if (!violations.isEmpty()) {
+                String message = violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+                errors.add(new ImportErrorDto(firstRow + i, message));
+                continue;
+            }
+            copies.merge(new BookKey(book.getTitle(), book.getAuthor()), new ImportedCopies(book.getAmount(), 1), ImportedCopies::plus);
+        }
+        errors.sort(Comparator.comparingLong(ImportErrorDto::row));
+        int accepted = rows.size() - errors.size();
+        if (copies.isEmpty()) {
+            return new ImportChunkResultDto(index, rows.size(), accepted, 0, 0, errors);
+        }
+        try {
+            int[] createdAndUpdated = conflictRetrier.execute("book-import", () -> transactionTemplate.execute(status -> writeChunk(copies)));
+            return new ImportChunkResultDto(index, rows.size(), accepted, createdAndUpdated[0], createdAndUpdated[1], errors);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            errors.add(new ImportErrorDto(firstRow, "Chunk was not imported: " + e.getMessage()));
+            return new ImportChunkResultDto(index, rows.size(), 0, 0, 0, errors);
+        }
+    }
+
+    private int[] writeChunk(Map<BookKey, ImportedCopies> copies) {
+        Set<String> titles = copies.keySet().stream().map(BookKey::title).collect(Collectors.toSet());
+        Map<BookKey, Book> existingBooks = new HashMap<>();
+        for (Book book : bookRepository.findByTitleIn(titles)) {
+            existingBooks.put(new BookKey(book.getTitle(), book.getAuthor()), book);
+        }
+
+        Cache booksCache = cacheManager.getCache(CacheConfig.BOOKS);
+        List<Book> newBooks = new ArrayList<>();
+        Set<Long> changedIds = new HashSet<>();
+        int updated = 0;
+        for (Map.Entry<BookKey, ImportedCopies> entry : copies.entrySet()) {
+            Book book = existingBooks.get(entry.getKey());
+            if (book == null) {
+                Book newBook = new Book();
+                newBook.setTitle(entry.getKey().title());
+                newBook.setAuthor(entry.getKey().author());
+                newBook.setAmount(entry.getValue().amount() + entry.getValue().rows());
+                newBooks.add(newBook);
+            } else {
+                book.setAmount(book.getAmount() + entry.getValue().rows());
+                if (booksCache != null) {
+                    booksCache.evict(book.getId());
+                }
+                changedIds.add(book.getId());
+                updated++;
+            }
+        }
+        for (Book book : bookRepository.saveAll(newBooks)) {
+            changedIds.add(book.getId());
+        }
+        bookRepository.flush();
+        stockOutbox.record(StockChangeType.ADDED, null, changedIds);
+        Set<String> authors = copies.keySet().stream().map(BookKey::author).collect(Collectors.toSet());
+        eventPublisher.publishEvent(new BookChangedEvent(changedIds, authors));
+        return new int[]{newBooks.size(), updated};
+    }
+
+    private record BookKey(String title, String author) {
+    }
+
+    private record ImportedCopies(int amount, int rows) {
+        ImportedCopies plus(ImportedCopies duplicate) {
+            return new ImportedCopies(amount, rows + duplicate.rows);
+        }
+    }
+}
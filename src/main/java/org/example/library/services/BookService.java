@@ -1,51 +1,130 @@
 package org.example.library.services;
 
 import lombok.RequiredArgsConstructor;
+import org.example.library.config.CacheConfig;
+import org.example.library.dto.BookSearchResultDto;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.PageDto;
 import org.example.library.entities.Book;
+import org.example.library.entities.StockChangeType;
+import org.example.library.events.BookChangedEvent;
+import org.example.library.outbox.StockOutbox;
 import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.BookSearchRepository;
+import org.example.library.retry.RetryOnConflict;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+import java.util.Locale;
 import java.util.NoSuchElementException;
-
+import java.util.StringJoiner;
+import java.util.regex.Pattern;
 
 @Service
 @RequiredArgsConstructor
 public class BookService {
+    private static final Pattern SEARCH_TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MIN_SEARCH_PREFIX = 2;
+    private static final int MAX_SEARCH_TOKENS = 8;
+    private static final int MAX_SEARCH_OFFSET = 1000;
 
     private final BookRepository bookRepository;
+    private final BookSearchRepository bookSearchRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockOutbox stockOutbox;
 
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#result.id")
     @Transactional
     public Book saveBook(Book book) {
-        Book resultBook = bookRepository.findByTitleAndAuthor(book.getTitle(), book.getAuthor());
-        if (resultBook == null) {
-            resultBook = bookRepository.save(book);
-        }
-        resultBook.incrementAmount();
-        return resultBook;
+        Book saved = bookRepository.upsertCopy(book.getTitle(), book.getAuthor(), book.getAmount());
+        stockOutbox.record(StockChangeType.ADDED, null, List.of(saved.getId()));
+        eventPublisher.publishEvent(BookChangedEvent.of(saved.getId(), saved.getAuthor()));
+        return saved;
     }
 
+    @Cacheable(cacheNames = CacheConfig.BOOKS, key = "#id", sync = true)
     @Transactional
     public Book getBookById(Long id) {
         return bookRepository.findById(id).orElseThrow(() -> new NoSuchElementException("No book with such id"));
     }
 
+    @Transactional(readOnly = true)
+    public PageDto<BookSummaryDto> getBooksPage(String cursor, Integer size, String author, String titlePrefix) {
+        long afterId = PageDto.afterId(cursor);
+        int pageSize = PageDto.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<BookSummaryDto> rows;
+        if (author != null && titlePrefix != null) {
+            rows = bookRepository.findByIdGreaterThanAndAuthorAndTitleStartingWithOrderByIdAsc(afterId, author, titlePrefix, limit);
+        } else if (author != null) {
+            rows = bookRepository.findByIdGreaterThanAndAuthorOrderByIdAsc(afterId, author, limit);
+        } else if (titlePrefix != null) {
+            rows = bookRepository.findByIdGreaterThanAndTitleStartingWithOrderByIdAsc(afterId, titlePrefix, limit);
+        } else {
+            rows = bookRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit);
+        }
+        return PageDto.of(rows, pageSize, BookSummaryDto::id);
+    }
+
+    @Transactional(readOnly = true)
+    public PageDto<BookSearchResultDto> searchBooks(String query, String cursor, Integer size) {
+        String tsQuery = toPrefixQuery(query);
+        int offset = PageDto.offset(cursor);
+        if (offset >= MAX_SEARCH_OFFSET) {
+            throw new IllegalArgumentException("Search results are limited to the first " + MAX_SEARCH_OFFSET + " matches");
+        }
+        int pageSize = Math.min(PageDto.pageSize(size), MAX_SEARCH_OFFSET - offset);
+        return PageDto.ofOffset(bookSearchRepository.search(tsQuery, offset, pageSize + 1), pageSize, offset, MAX_SEARCH_OFFSET);
+    }
+
+    private static String toPrefixQuery(String query) {
+        StringJoiner tsQuery = new StringJoiner(" & ");
+        int tokens = 0;
+        for (String token : SEARCH_TOKEN_SEPARATOR.split(query == null ? "" : query.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_SEARCH_PREFIX && tokens < MAX_SEARCH_TOKENS) {
+                tsQuery.add(token + ":*");
+                tokens++;
+            }
+        }
+        if (tokens == 0) {
+            throw new IllegalArgumentException("Search query must contain a word of at least " + MIN_SEARCH_PREFIX + " letters or digits");
+        }
+        return tsQuery.toString();
+    }
+
+    @RetryOnConflict("book-update")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id"),
+            @CacheEvict(cacheNames = CacheConfig.MEMBERS, allEntries = true)
+    })
     @Transactional
     public Book updateById(Long id, Book book) {
         Book existedBook = bookRepository.findById(id).orElseThrow(() -> new NoSuchElementException("No book with such id"));
         if (bookRepository.findByTitleAndAuthor(book.getTitle(), book.getAuthor()) != null) {
             throw new IllegalStateException("Book with this author and title already exists");
         }
+        String previousAuthor = existedBook.getAuthor();
         existedBook.update(book);
+        eventPublisher.publishEvent(BookChangedEvent.of(id, previousAuthor, existedBook.getAuthor()));
         return existedBook;
     }
 
+    @RetryOnConflict("book-delete")
+    @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#id")
     @Transactional
     public void deleteById(Long id) {
         Book book = bookRepository.findById(id).orElseThrow(() -> new NoSuchElementException("No book with such id"));
         if (!book.getMembers().isEmpty()) {
             throw new IllegalStateException("Book cannot be deleted as it is currently borrowed.");
         }
+        stockOutbox.record(StockChangeType.DELETED, null, List.of(id));
         bookRepository.deleteById(id);
+        eventPublisher.publishEvent(BookChangedEvent.of(id, book.getAuthor()));
     }
 }
@@ -0,0 +1,34 @@
+package org.example.library.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.example.library.dto.BorrowedCountDriftDto;
+import org.example.library.repositories.BookRepository;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BorrowedCountChecker {
+    private final BookRepository bookRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger driftingBooks = new AtomicInteger();
+
+    @Scheduled(initialDelayString = "${library.borrowed-count.check-interval:PT10M}", fixedDelayString = "${library.borrowed-count.check-interval:PT10M}")
+    @Transactional(readOnly = true)
+    public List<BorrowedCountDriftDto> check() {
+        List<BorrowedCountDriftDto> drift = bookRepository.findBorrowedCountDrift();
+        meterRegistry.gauge("library.borrowed_count.drift", driftingBooks).set(drift.size());
+        for (BorrowedCountDriftDto row : drift) {
+            log.warn("borrowed_count drift for book {} ({}): stored {}, actual {}", row.bookId(), row.title(), row.storedCount(), row.actualCount());
+        }
+        return drift;
+    }
+}
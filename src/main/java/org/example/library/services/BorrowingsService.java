@@ -1,65 +1,225 @@
 package org.example.library.services;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
+import org.example.library.config.CacheConfig;
+import org.example.library.dto.BatchItemResultDto;
+import org.example.library.dto.BatchOutcome;
 import org.example.library.dto.BookDto;
-import org.example.library.entities.Book;
-import org.example.library.entities.Member;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.dto.BorrowingExportDto;
+import org.example.library.dto.LoanEventDto;
+import org.example.library.dto.PageDto;
+import org.example.library.entities.MemberTier;
+import org.example.library.entities.StockChangeType;
+import org.example.library.events.LoanEvent;
+import org.example.library.outbox.StockOutbox;
+import org.example.library.policy.BorrowingPolicyEngine;
+import org.example.library.policy.CompiledBorrowingPolicy;
+import org.example.library.policy.PolicyViolation;
 import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.LoanHistoryRepository;
 import org.example.library.repositories.MemberRepository;
-import org.springframework.beans.factory.annotation.Value;
+import org.example.library.retry.RetryOnConflict;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BorrowingsService {
     private final BookRepository bookRepository;
     private final MemberRepository memberRepository;
+    private final ObjectMapper objectMapper;
+    private final CacheManager cacheManager;
+    private final BorrowingPolicyEngine borrowingPolicyEngine;
+    private final LoanHistoryRepository loanHistoryRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final StockOutbox stockOutbox;
 
-    @Value("${BOOK_LIMIT:10}")
-    @Setter
-    private int bookLimit;
-
+    @RetryOnConflict("borrowing-add")
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId"),
+            @CacheEvict(cacheNames = {CacheConfig.MEMBERS, CacheConfig.MEMBER_PROFILES}, key = "#memberId")
+    })
     @Transactional
     public void addBorrowing(Long memberId, Long bookId) {
-        Book book = bookRepository.findById(bookId).orElseThrow(() -> new NoSuchElementException("No book with such id"));
-        Member member = memberRepository.findById(memberId).orElseThrow(() -> new NoSuchElementException("No member with such id"));
-        if (member.getBooks().size() > bookLimit) {
-            throw new IllegalStateException("Borrowing limit reached for this member");
+        MemberTier tier = lockMember(memberId);
+        CompiledBorrowingPolicy policy = borrowingPolicyEngine.current();
+        long memberLoans = memberRepository.countBorrowedBooks(memberId);
+        BookSummaryDto book = policy.needsTitle() ? bookRepository.findSummaryById(bookId).orElse(null) : null;
+        String title = book == null ? null : book.title();
+        String author = book == null ? null : book.author();
+        long titleLoans = policy.limitsTitle(title, author) ? bookRepository.countLoansByTitleAndAuthor(title, author) : 0;
+        PolicyViolation violation = policy.evaluate(tier, memberLoans, title, author, titleLoans, System.currentTimeMillis());
+        if (violation != null) {
+            throw new IllegalStateException(violation.getMessage());
         }
-        if (member.getBooks().contains(book)) {
+        if (memberRepository.existsBorrowing(memberId, bookId)) {
             throw new IllegalStateException("The book has already been borrowed by this user");
         }
-        if (book.getAmount() <= 0) {
+        if (bookRepository.borrowCopyIfAvailable(bookId) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new NoSuchElementException("No book with such id");
+            }
             throw new IllegalStateException("There are no such books");
         }
-        member.addBook(book);
-        book.decrementAmount();
+        memberRepository.insertBorrowing(memberId, bookId);
+        stockOutbox.record(StockChangeType.BORROWED, memberId, List.of(bookId));
+        eventPublisher.publishEvent(LoanEvent.borrowed(memberId, List.of(bookId)));
     }
 
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.BOOKS, key = "#bookId"),
+            @CacheEvict(cacheNames = {CacheConfig.MEMBERS, CacheConfig.MEMBER_PROFILES}, key = "#memberId")
+    })
     @Transactional
     public void returnBook(Long memberId, Long bookId) {
-        Book book = bookRepository.findById(bookId).orElseThrow(() -> new NoSuchElementException("No book with such id"));
-        Member member = memberRepository.findById(memberId).orElseThrow(() -> new NoSuchElementException("No member with such id"));
-        if (!member.getBooks().contains(book)) {
+        if (memberRepository.deleteBorrowings(memberId, List.of(bookId)) == 0) {
+            if (!bookRepository.existsById(bookId)) {
+                throw new NoSuchElementException("No book with such id");
+            }
+            if (!memberRepository.existsById(memberId)) {
+                throw new NoSuchElementException("No member with such id");
+            }
             throw new IllegalStateException("Member didn't borrow this book");
         }
-        member.removeBook(book);
-        book.incrementAmount();
+        bookRepository.returnCopies(List.of(bookId));
+        stockOutbox.record(StockChangeType.RETURNED, memberId, List.of(bookId));
+        eventPublisher.publishEvent(LoanEvent.returned(memberId, List.of(bookId)));
+    }
+
+    @RetryOnConflict("borrowing-add-batch")
+    @Transactional
+    public List<BatchItemResultDto> addBorrowings(Long memberId, List<Long> bookIds) {
+        MemberTier tier = lockMember(memberId);
+        CompiledBorrowingPolicy policy = borrowingPolicyEngine.current();
+        Set<Long> requested = new LinkedHashSet<>(bookIds);
+        Map<Long, BookSummaryDto> books = new HashMap<>();
+        if (policy.needsTitle()) {
+            bookRepository.findByIdIn(requested).forEach(book -> books.put(book.id(), book));
+        } else {
+            bookRepository.findExistingIds(requested).forEach(id -> books.put(id, null));
+        }
+        Set<Long> borrowed = new HashSet<>(memberRepository.findBorrowedBookIds(memberId, requested));
+        long borrowedCount = memberRepository.countBorrowedBooks(memberId);
+        long now = System.currentTimeMillis();
+
+        Set<Long> granted = new LinkedHashSet<>();
+        List<BatchItemResultDto> results = new ArrayList<>(bookIds.size());
+        for (Long bookId : bookIds) {
+            BatchOutcome outcome;
+            if (!books.containsKey(bookId)) {
+                outcome = BatchOutcome.NOT_FOUND;
+            } else if (borrowed.contains(bookId) || granted.contains(bookId)) {
+                outcome = BatchOutcome.ALREADY_BORROWED;
+            } else {
+                BookSummaryDto book = books.get(bookId);
+                String title = book == null ? null : book.title();
+                String author = book == null ? null : book.author();
+                long loansOfTitle = policy.limitsTitle(title, author) ? bookRepository.countLoansByTitleAndAuthor(title, author) : 0;
+                PolicyViolation violation = policy.evaluate(tier, borrowedCount, title, author, loansOfTitle, now);
+                if (violation != null) {
+                    outcome = violation.getBatchOutcome();
+                } else if (bookRepository.borrowCopyIfAvailable(bookId) == 0) {
+                    outcome = BatchOutcome.OUT_OF_STOCK;
+                } else {
+                    outcome = BatchOutcome.OK;
+                    granted.add(bookId);
+                    borrowedCount++;
+                }
+            }
+            results.add(new BatchItemResultDto(bookId, outcome));
+        }
+        if (!granted.isEmpty()) {
+            memberRepository.insertBorrowings(memberId, granted);
+            evictCached(memberId, granted);
+            stockOutbox.record(StockChangeType.BORROWED, memberId, granted);
+            eventPublisher.publishEvent(LoanEvent.borrowed(memberId, granted));
+        }
+        return results;
+    }
+
+    @RetryOnConflict("borrowing-return-batch")
+    @Transactional
+    public List<BatchItemResultDto> returnBooks(Long memberId, List<Long> bookIds) {
+        memberRepository.lockById(memberId).orElseThrow(() -> new NoSuchElementException("No member with such id"));
+        Set<Long> requested = new LinkedHashSet<>(bookIds);
+        Set<Long> existing = new HashSet<>(bookRepository.findExistingIds(requested));
+        Set<Long> borrowed = new HashSet<>(memberRepository.findBorrowedBookIds(memberId, requested));
+
+        Set<Long> returned = new LinkedHashSet<>();
+        List<BatchItemResultDto> results = new ArrayList<>(bookIds.size());
+        for (Long bookId : bookIds) {
+            BatchOutcome outcome;
+            if (!existing.contains(bookId)) {
+                outcome = BatchOutcome.NOT_FOUND;
+            } else if (!borrowed.contains(bookId) || !returned.add(bookId)) {
+                outcome = BatchOutcome.NOT_BORROWED;
+            } else {
+                outcome = BatchOutcome.OK;
+            }
+            results.add(new BatchItemResultDto(bookId, outcome));
+        }
+        if (!returned.isEmpty()) {
+            memberRepository.deleteBorrowings(memberId, returned);
+            bookRepository.returnCopies(returned);
+            evictCached(memberId, returned);
+            stockOutbox.record(StockChangeType.RETURNED, memberId, returned);
+            eventPublisher.publishEvent(LoanEvent.returned(memberId, returned));
+        }
+        return results;
+    }
+
+    private MemberTier lockMember(Long memberId) {
+        return memberRepository.lockTierById(memberId)
+                .map(MemberTier::valueOf)
+                .orElseThrow(() -> new NoSuchElementException("No member with such id"));
+    }
+
+    private void evictCached(Long memberId, Collection<Long> bookIds) {
+        for (String cacheName : List.of(CacheConfig.MEMBERS, CacheConfig.MEMBER_PROFILES)) {
+            Cache members = cacheManager.getCache(cacheName);
+            if (members != null) {
+                members.evict(memberId);
+            }
+        }
+        Cache books = cacheManager.getCache(CacheConfig.BOOKS);
+        if (books != null) {
+            bookIds.forEach(books::evict);
+        }
     }
 
     @Transactional(readOnly = true)
-    public Set<Book> findBorrowedBooksByMemberName(String name) {
-        Member member = memberRepository.findByName(name);
-        if (member == null) {
+    public List<BorrowedBookDto> findBorrowedBooksByMemberName(String name) {
+        List<BorrowedBookDto> books = memberRepository.findBorrowedBooksByMemberName(name);
+        if (books.isEmpty() && !memberRepository.existsByName(name)) {
             throw new NoSuchElementException("No member found with name: " + name);
         }
-        return member.getBooks();
+        return books;
     }
 
 
@@ -73,4 +233,37 @@ public class BorrowingsService {
         return bookRepository.findAllDistinctBorrowedBooksNamesWithCount();
     }
 
+    public PageDto<LoanEventDto> getBookHistory(Long bookId, Instant from, String cursor, Integer size) {
+        int pageSize = PageDto.pageSize(size);
+        return PageDto.of(loanHistoryRepository.findByBookId(bookId, historyFrom(from), historyBeforeId(cursor), pageSize + 1), pageSize, LoanEventDto::id);
+    }
+
+    public PageDto<LoanEventDto> getMemberHistory(Long memberId, Instant from, String cursor, Integer size) {
+        int pageSize = PageDto.pageSize(size);
+        return PageDto.of(loanHistoryRepository.findByMemberId(memberId, historyFrom(from), historyBeforeId(cursor), pageSize + 1), pageSize, LoanEventDto::id);
+    }
+
+    private static Instant historyFrom(Instant from) {
+        return from == null ? Instant.EPOCH : from;
+    }
+
+    private static long historyBeforeId(String cursor) {
+        long beforeId = PageDto.afterId(cursor);
+        return beforeId == 0 ? Long.MAX_VALUE : beforeId;
+    }
+
+    @Transactional(readOnly = true)
+    public void exportBorrowings(Long sinceMemberId, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(BorrowingExportDto.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("");
+        try (Stream<BorrowingExportDto> rows = memberRepository.streamBorrowings(sinceMemberId == null ? 0L : sinceMemberId);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            Iterator<BorrowingExportDto> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.writeValue(generator, iterator.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
 }
@@ -1,11 +1,22 @@
 package org.example.library.services;
 
 import lombok.RequiredArgsConstructor;
+import org.example.library.config.CacheConfig;
+import org.example.library.dto.MemberDetailsDto;
+import org.example.library.dto.MemberProfileDto;
+import org.example.library.dto.MemberSummaryDto;
+import org.example.library.dto.PageDto;
 import org.example.library.entities.Member;
+import org.example.library.entities.MemberTier;
 import org.example.library.repositories.MemberRepository;
+import org.example.library.retry.RetryOnConflict;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 
 @Service
@@ -18,11 +29,35 @@ public class MemberService {
         return memberRepository.save(member);
     }
 
+    @Cacheable(cacheNames = CacheConfig.MEMBER_PROFILES, key = "#id", sync = true)
     @Transactional(readOnly = true)
-    public Member getMemberById(Long id) {
-        return memberRepository.findById(id).orElseThrow(() -> new NoSuchElementException("No member with such id"));
+    public MemberProfileDto getMemberById(Long id) {
+        return memberRepository.findById(id)
+                .map(MemberProfileDto::of)
+                .orElseThrow(() -> new NoSuchElementException("No member with such id"));
     }
 
+    @Cacheable(cacheNames = CacheConfig.MEMBERS, key = "#id", sync = true)
+    @Transactional(readOnly = true)
+    public MemberDetailsDto getMemberWithBooksById(Long id) {
+        return memberRepository.findWithBooksById(id)
+                .map(MemberDetailsDto::of)
+                .orElseThrow(() -> new NoSuchElementException("No member with such id"));
+    }
+
+    @Transactional(readOnly = true)
+    public PageDto<MemberSummaryDto> getMembersPage(String cursor, Integer size, String namePrefix) {
+        long afterId = PageDto.afterId(cursor);
+        int pageSize = PageDto.pageSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+        List<MemberSummaryDto> rows = namePrefix == null
+                ? memberRepository.findByIdGreaterThanOrderByIdAsc(afterId, limit)
+                : memberRepository.findByIdGreaterThanAndNameStartingWithOrderByIdAsc(afterId, namePrefix, limit);
+        return PageDto.of(rows, pageSize, MemberSummaryDto::id);
+    }
+
+    @RetryOnConflict("member-update")
+    @CacheEvict(cacheNames = {CacheConfig.MEMBERS, CacheConfig.MEMBER_PROFILES}, key = "#id")
     @Transactional
     public Member updateById(Long id, Member member) {
         Member existedMember = memberRepository.findById(id).orElseThrow(() -> new NoSuchElementException("No member with such id"));
@@ -30,10 +65,24 @@ public class MemberService {
         return existedMember;
     }
 
+    @RetryOnConflict("member-update")
+    @CacheEvict(cacheNames = {CacheConfig.MEMBERS, CacheConfig.MEMBER_PROFILES}, key = "#id")
+    @Transactional
+    public Member updateTierById(Long id, MemberTier tier) {
+        if (tier == null) {
+            throw new IllegalArgumentException("Tier cannot be null");
+        }
+        Member existedMember = memberRepository.findById(id).orElseThrow(() -> new NoSuchElementException("No member with such id"));
+        existedMember.setTier(tier);
+        return existedMember;
+    }
+
+    @RetryOnConflict("member-delete")
+    @CacheEvict(cacheNames = {CacheConfig.MEMBERS, CacheConfig.MEMBER_PROFILES}, key = "#id")
     @Transactional
     public void deleteById(Long id) {
-        Member member = memberRepository.findById(id).orElseThrow(() -> new NoSuchElementException("No member with such id"));
-        if (!member.getBooks().isEmpty()) {
+        memberRepository.lockById(id).orElseThrow(() -> new NoSuchElementException("No member with such id"));
+        if (memberRepository.countBorrowedBooks(id) > 0) {
             throw new IllegalStateException("Member cannot be deleted because he borrowed books.");
         }
         memberRepository.deleteById(id);
@@ -0,0 +1,34 @@
+package org.example.library.services;
+
+import lombok.RequiredArgsConstructor;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.repositories.ReactiveCatalogueRepository;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.NoSuchElementException;
+
+@Service
+@RequiredArgsConstructor
+public class ReactiveCatalogueService {
+    private final ReactiveCatalogueRepository catalogueRepository;
+
+    public Mono<BookSummaryDto> getBookById(Long id) {
+        return catalogueRepository.findBookById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchElementException("No book with such id")));
+    }
+
+    public Flux<BookSummaryDto> getBooks(Long afterId) {
+        return catalogueRepository.findBooks(afterId == null ? 0L : afterId);
+    }
+
+    public Flux<BorrowedBookDto> findBorrowedBooksByMemberName(String name) {
+        return catalogueRepository.findBorrowedBooksByMemberName(name)
+                .switchIfEmpty(catalogueRepository.existsMemberByName(name)
+                        .flatMapMany(exists -> exists
+                                ? Flux.empty()
+                                : Flux.error(new NoSuchElementException("No member found with name: " + name))));
+    }
+}
@@ -10,13 +10,22 @@ public class TwoWordsWithCapitalLetterValidator implements ConstraintValidator<T
             return false;
         }
 
-        String[] words = s.split(" ");
+        int end = s.length();
+        while (end > 0 && s.charAt(end - 1) == ' ') {
+            end--;
+        }
+
+        int space = s.indexOf(' ');
+        if (space <= 0 || space >= end) {
+            return false;
+        }
 
-        if (words.length != 2) {
+        int nextSpace = s.indexOf(' ', space + 1);
+        if (nextSpace != -1 && nextSpace < end) {
             return false;
         }
 
-        return Character.isUpperCase(words[0].charAt(0)) && Character.isUpperCase(words[1].charAt(0));
+        return Character.isUpperCase(s.charAt(0)) && Character.isUpperCase(s.charAt(space + 1));
     }
 
 }
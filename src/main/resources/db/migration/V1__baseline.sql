@@ -0,0 +1,17 @@
+create table books (
+    id     bigserial primary key,
+    title  varchar(255),
+    author varchar(255),
+    amount integer not null default 0
+);
+
+create table members (
+    id              bigserial primary key,
+    name            varchar(255) not null,
+    membership_date date default current_date
+);
+
+create table borrowings (
+    member_id bigint not null references members (id),
+    book_id   bigint not null references books (id)
+);
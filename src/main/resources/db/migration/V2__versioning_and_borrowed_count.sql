@@ -0,0 +1,5 @@
+alter table books add column if not exists version bigint not null default 0;
+alter table members add column if not exists version bigint not null default 0;
+alter table books add column if not exists borrowed_count integer not null default 0;
+
+alter sequence books_id_seq increment by 50;
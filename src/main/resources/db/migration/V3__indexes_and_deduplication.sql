@@ -0,0 +1,58 @@
+delete from borrowings a
+using borrowings b
+where a.ctid < b.ctid
+  and a.member_id = b.member_id
+  and a.book_id = b.book_id;
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conrelid = 'borrowings'::regclass and contype = 'p') then
+        alter table borrowings add constraint borrowings_pkey primary key (member_id, book_id);
+    end if;
+end $$;
+
+create temporary table book_duplicates on commit drop as
+select b.id as duplicate_id, k.keep_id
+from books b
+join (select title, author, min(id) as keep_id
+      from books
+      group by title, author
+      having count(*) > 1) k on b.title = k.title and b.author = k.author and b.id <> k.keep_id;
+
+update books b
+set amount = b.amount + s.copies
+from (select d.keep_id, sum(x.amount + (select count(*) from borrowings w where w.book_id = x.id)) as copies
+      from book_duplicates d
+      join books x on x.id = d.duplicate_id
+      group by d.keep_id) s
+where b.id = s.keep_id;
+
+with moved as (
+    insert into borrowings (member_id, book_id)
+    select distinct w.member_id, d.keep_id
+    from borrowings w
+    join book_duplicates d on d.duplicate_id = w.book_id
+    on conflict do nothing
+    returning book_id
+)
+update books b
+set amount = b.amount - m.moved
+from (select book_id, count(*) as moved from moved group by book_id) m
+where b.id = m.book_id;
+
+delete from borrowings w
+using book_duplicates d
+where w.book_id = d.duplicate_id;
+
+delete from books b
+using book_duplicates d
+where b.id = d.duplicate_id;
+
+update books b
+set borrowed_count = (select count(*) from borrowings w where w.book_id = b.id);
+
+create unique index if not exists uk_books_title_author on books (title, author);
+create index if not exists idx_books_author_id on books (author, id);
+create index if not exists idx_books_borrowed_title on books (title) where borrowed_count > 0;
+create index if not exists idx_members_name on members (name);
+create index if not exists idx_borrowings_book_member on borrowings (book_id, member_id);
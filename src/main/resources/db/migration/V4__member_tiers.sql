@@ -0,0 +1 @@
+alter table members add column if not exists tier varchar(16) not null default 'STANDARD';
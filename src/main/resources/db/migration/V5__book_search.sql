@@ -0,0 +1,7 @@
+alter table books add column if not exists search_vector tsvector
+    generated always as (
+        setweight(to_tsvector('simple', coalesce(title, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(author, '')), 'B')
+    ) stored;
+
+create index if not exists idx_books_search_vector on books using gin (search_vector);
@@ -0,0 +1,10 @@
+create table if not exists loan_events (
+    id bigserial primary key,
+    event_type varchar(16) not null,
+    member_id bigint not null,
+    book_id bigint not null,
+    occurred_at timestamptz not null
+);
+
+create index if not exists idx_loan_events_book_id on loan_events (book_id, id);
+create index if not exists idx_loan_events_member_id on loan_events (member_id, id);
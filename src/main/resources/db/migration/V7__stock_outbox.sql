@@ -0,0 +1,13 @@
+create table if not exists stock_outbox (
+    id bigserial primary key,
+    feed_offset bigint,
+    book_id bigint not null,
+    member_id bigint,
+    change_type varchar(16) not null,
+    amount integer not null,
+    borrowed_count integer not null,
+    changed_at timestamptz not null
+);
+
+create unique index if not exists idx_stock_outbox_feed_offset on stock_outbox (feed_offset);
+create index if not exists idx_stock_outbox_unpublished on stock_outbox (id) where feed_offset is null;
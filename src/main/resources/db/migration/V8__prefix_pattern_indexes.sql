@@ -0,0 +1,2 @@
+create index if not exists idx_books_title_pattern on books (title text_pattern_ops, id);
+create index if not exists idx_members_name_pattern on members (name text_pattern_ops, id);
@@ -0,0 +1,142 @@
+package org.example.library.availability;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.library.dto.AvailabilityDto;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.events.BookChangedEvent;
+import org.example.library.events.LoanEvent;
+import org.example.library.repositories.BookRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AvailabilityHubTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private AvailabilityHub hub;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        hub = new AvailabilityHub(bookRepository, meterRegistry);
+        hub.setMaxSubscribers(2);
+        hub.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        hub.shutdown();
+    }
+
+    @Test
+    void subscribeSendsCurrentAmountsTest() throws InterruptedException {
+        when(bookRepository.findByIdIn(anyCollection())).thenReturn(List.of(new BookSummaryDto(1L, "Dune", "Frank Herbert", 3)));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        hub.subscribe(List.of(1L, 2L), emitter);
+
+        assertEquals(Set.of(new AvailabilityDto(1L, 3), new AvailabilityDto(2L, 0)), new HashSet<>(emitter.next()));
+        assertEquals(1, hub.subscriberCount());
+    }
+
+    @Test
+    void coalescesCommittedChangesUntilFlushTest() throws InterruptedException {
+        when(bookRepository.findByIdIn(anyCollection())).thenReturn(List.of(new BookSummaryDto(1L, "Dune", "Frank Herbert", 3)));
+        RecordingEmitter emitter = new RecordingEmitter();
+        hub.subscribe(List.of(1L), emitter);
+        emitter.next();
+        clearInvocations(bookRepository);
+
+        when(bookRepository.findByIdIn(anyCollection())).thenReturn(List.of(new BookSummaryDto(1L, "Dune", "Frank Herbert", 1)));
+        hub.onLoan(LoanEvent.borrowed(7L, List.of(1L)));
+        hub.onLoan(LoanEvent.borrowed(8L, List.of(1L)));
+        hub.onBookChanged(BookChangedEvent.of(2L, "Jane Austen"));
+        hub.flush();
+        hub.flush();
+
+        assertEquals(List.of(new AvailabilityDto(1L, 1)), emitter.next());
+        assertNull(emitter.sent.poll(100, TimeUnit.MILLISECONDS));
+        verify(bookRepository).findByIdIn(List.of(1L));
+    }
+
+    @Test
+    void skipsQueryWhenNoFollowedBookChangedTest() {
+        hub.onLoan(LoanEvent.returned(7L, List.of(1L)));
+        hub.flush();
+
+        verify(bookRepository, never()).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void dropsSubscriberWhenSendFailsTest() throws InterruptedException {
+        when(bookRepository.findByIdIn(anyCollection())).thenReturn(List.of());
+        RecordingEmitter emitter = new RecordingEmitter();
+        emitter.fail = true;
+
+        hub.subscribe(List.of(1L), emitter);
+
+        for (int i = 0; i < 50 && hub.subscriberCount() > 0; i++) {
+            Thread.sleep(20);
+        }
+        assertEquals(0, hub.subscriberCount());
+        hub.onLoan(LoanEvent.borrowed(7L, List.of(1L)));
+        hub.flush();
+        verify(bookRepository).findByIdIn(anyCollection());
+    }
+
+    @Test
+    void rejectsInvalidSubscriptionsTest() {
+        when(bookRepository.findByIdIn(anyCollection())).thenReturn(List.of());
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(List.of(), new RecordingEmitter()));
+        List<Long> tooMany = LongStream.rangeClosed(1, AvailabilityHub.MAX_BOOKS + 1).boxed().toList();
+        assertThrows(IllegalArgumentException.class, () -> hub.subscribe(tooMany, new RecordingEmitter()));
+
+        hub.subscribe(List.of(1L), new RecordingEmitter());
+        hub.subscribe(List.of(2L), new RecordingEmitter());
+        assertThrows(IllegalStateException.class, () -> hub.subscribe(List.of(3L), new RecordingEmitter()));
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<List<?>> sent = new LinkedBlockingQueue<>();
+        private volatile boolean fail;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (fail) {
+                throw new IOException("Broken pipe");
+            }
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof List<?>)
+                    .forEach(part -> sent.add((List<?>) part.getData()));
+        }
+
+        List<?> next() throws InterruptedException {
+            List<?> changes = sent.poll(5, TimeUnit.SECONDS);
+            assertNotNull(changes);
+            return changes;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.library.history;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.library.events.LoanEvent;
+import org.example.library.repositories.LoanHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+public class LoanHistoryWriterTest {
+
+    @Mock
+    private LoanHistoryRepository loanHistoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private LoanHistoryWriter writer;
+    private List<List<LoanEvent>> batches;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        writer = new LoanHistoryWriter(loanHistoryRepository, meterRegistry);
+        writer.setQueueCapacity(16);
+        writer.setBatchSize(2);
+        writer.setOfferTimeout(Duration.ZERO);
+        writer.setPollInterval(Duration.ofMillis(10));
+        writer.setShutdownTimeout(Duration.ofSeconds(5));
+        batches = Collections.synchronizedList(new ArrayList<>());
+        when(loanHistoryRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<LoanEvent> batch = List.copyOf(invocation.getArgument(0));
+            batches.add(batch);
+            return batch.stream().mapToInt(event -> event.bookIds().size()).sum();
+        });
+    }
+
+    @Test
+    void writesEveryRecordedEventByShutdownTest() {
+        writer.start();
+        for (long bookId = 1; bookId <= 5; bookId++) {
+            assertTrue(writer.record(LoanEvent.borrowed(1L, List.of(bookId))));
+        }
+        assertTrue(writer.record(LoanEvent.returned(1L, List.of(1L, 2L))));
+        writer.stop();
+
+        assertFalse(writer.isRunning());
+        assertEquals(6, batches.stream().mapToInt(List::size).sum());
+        assertTrue(batches.stream().allMatch(batch -> batch.size() <= 2));
+        assertEquals(7.0, meterRegistry.counter("library.loan_history.written").count());
+    }
+
+    @Test
+    void dropsAndCountsEventsWhenQueueIsFullTest() throws InterruptedException {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(loanHistoryRepository.insertAll(anyList())).thenAnswer(invocation -> {
+            List<LoanEvent> batch = List.copyOf(invocation.getArgument(0));
+            writing.countDown();
+            release.await();
+            batches.add(batch);
+            return batch.size();
+        });
+        writer.setQueueCapacity(1);
+        writer.start();
+
+        assertTrue(writer.record(LoanEvent.borrowed(1L, List.of(1L))));
+        assertTrue(writing.await(5, TimeUnit.SECONDS));
+        assertTrue(writer.record(LoanEvent.borrowed(1L, List.of(2L))));
+        assertFalse(writer.record(LoanEvent.borrowed(1L, List.of(3L, 4L))));
+        release.countDown();
+        writer.stop();
+
+        assertEquals(2, batches.stream().mapToInt(List::size).sum());
+        assertEquals(2.0, meterRegistry.counter("library.loan_history.lost", "reason", "queue_full").count());
+    }
+
+    @Test
+    void countsFailedWritesAsLostTest() {
+        when(loanHistoryRepository.insertAll(anyList())).thenThrow(new IllegalStateException("connection refused"));
+        writer.start();
+
+        writer.record(LoanEvent.returned(1L, List.of(1L, 2L, 3L)));
+        writer.stop();
+
+        assertEquals(3.0, meterRegistry.counter("library.loan_history.lost", "reason", "write_failed").count());
+    }
+
+    @Test
+    void countsEventsRecordedWhenStoppedAsLostTest() {
+        assertFalse(writer.record(LoanEvent.borrowed(1L, List.of(1L))));
+
+        assertEquals(1.0, meterRegistry.counter("library.loan_history.lost", "reason", "stopped").count());
+        assertTrue(batches.isEmpty());
+    }
+}
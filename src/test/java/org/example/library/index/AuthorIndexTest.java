@@ -0,0 +1,74 @@
+package org.example.library.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AuthorIndexTest {
+
+    private static AuthorIndex index(String... authors) {
+        AuthorIndex.Builder builder = AuthorIndex.builder();
+        for (int i = 0; i < authors.length; i++) {
+            builder.add(authors[i], i + 1);
+        }
+        return builder.build();
+    }
+
+    private static List<String> search(AuthorIndex index, String prefix, int limit) {
+        int[] ordinals = new int[limit];
+        int found = index.search(prefix, ordinals, ordinal -> true);
+        List<String> authors = new ArrayList<>();
+        for (int i = 0; i < found; i++) {
+            authors.add(index.author(ordinals[i]));
+        }
+        return authors;
+    }
+
+    @Test
+    void searchMatchesFirstAndLastNamePrefixesIgnoringCaseTest() {
+        AuthorIndex index = index("Frank Herbert", "Brian Herbert", "Jane Austen", "Herbert Wells", "Ann Annis");
+
+        assertEquals(List.of("Brian Herbert", "Frank Herbert", "Herbert Wells"), search(index, "her", 10).stream().sorted().toList());
+        assertEquals(List.of("Frank Herbert"), search(index, "FRANK h", 10));
+        assertEquals(List.of("Jane Austen"), search(index, "aus", 10));
+        assertEquals(List.of("Ann Annis"), search(index, "ann", 10));
+        assertEquals(List.of(), search(index, "zola", 10));
+        assertEquals(2, search(index, "h", 2).size());
+    }
+
+    @Test
+    void indexOfIsExactTest() {
+        AuthorIndex index = index("Frank Herbert", "frank herbert", "Jane Austen");
+
+        assertEquals("Frank Herbert", index.author(index.indexOf("Frank Herbert")));
+        assertEquals("frank herbert", index.author(index.indexOf("frank herbert")));
+        assertEquals(3, index.titleCount(index.indexOf("Jane Austen")));
+        assertEquals(-1, index.indexOf("Frank"));
+        assertEquals(-1, index.indexOf("Herbert"));
+    }
+
+    @Test
+    void builderCopiesFromAnotherIndexTest() {
+        AuthorIndex base = index("Frank Herbert", "Jane Austen");
+        AuthorIndex copy = AuthorIndex.builder()
+                .add(base, base.indexOf("Jane Austen"), 7)
+                .add("Emile Zola", 1)
+                .build();
+
+        assertEquals(2, copy.size());
+        assertEquals(7, copy.titleCount(copy.indexOf("Jane Austen")));
+        assertEquals(-1, copy.indexOf("Frank Herbert"));
+        assertEquals(List.of("Emile Zola"), search(copy, "zo", 10));
+    }
+
+    @Test
+    void matchesTest() {
+        assertTrue(AuthorIndex.matches("Frank Herbert", "fr"));
+        assertTrue(AuthorIndex.matches("Frank Herbert", "herb"));
+        assertTrue(AuthorIndex.matches("Frank Herbert", "frank H"));
+        assertFalse(AuthorIndex.matches("Frank Herbert", "rank"));
+    }
+}
@@ -0,0 +1,65 @@
+package org.example.library.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class RequestSqlMetricsFilterTest {
+
+    private SqlStatementCounter sqlStatementCounter;
+    private SimpleMeterRegistry meterRegistry;
+    private RequestSqlMetricsFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementCounter = new SqlStatementCounter();
+        meterRegistry = new SimpleMeterRegistry();
+        SqlBudgetProperties budgets = new SqlBudgetProperties(25, Map.of("GET /book/changes", 1), true);
+        filter = new RequestSqlMetricsFilter(sqlStatementCounter, budgets, meterRegistry);
+    }
+
+    @Test
+    void failsRequestOverBudgetTest() {
+        MockHttpServletRequest request = request();
+
+        assertThrows(IllegalStateException.class, () -> filter.doFilter(request, new MockHttpServletResponse(), twoStatements(false)));
+        assertEquals(1, meterRegistry.counter("library.http.sql.budget.exceeded", "method", "GET", "uri", "/book/changes").count());
+    }
+
+    @Test
+    void skipsBudgetWhenAsyncStartedTest() {
+        MockHttpServletRequest request = request();
+
+        assertDoesNotThrow(() -> filter.doFilter(request, new MockHttpServletResponse(), twoStatements(true)));
+        assertNull(meterRegistry.find("library.http.sql.budget.exceeded").counter());
+        assertNull(meterRegistry.find("library.http.sql.statements").summary());
+    }
+
+    private MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/book/changes");
+        request.setAsyncSupported(true);
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/book/changes");
+        return request;
+    }
+
+    private FilterChain twoStatements(boolean startAsync) {
+        return (request, response) -> {
+            sqlStatementCounter.record("select * from stock_outbox where feed_offset>?");
+            sqlStatementCounter.record("select * from stock_outbox where feed_offset>?");
+            if (startAsync) {
+                request.startAsync();
+            }
+        };
+    }
+}
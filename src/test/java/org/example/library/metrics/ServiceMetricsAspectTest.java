@@ -0,0 +1,82 @@
+package org.example.library.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.library.entities.Book;
+import org.example.library.outbox.StockOutbox;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.BookSearchRepository;
+import org.example.library.services.BookService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.util.NoSuchElementException;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+public class ServiceMetricsAspectTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private BookSearchRepository bookSearchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockOutbox stockOutbox;
+
+    private MeterRegistry meterRegistry;
+
+    private BookService bookService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(new BookService(bookRepository, bookSearchRepository, eventPublisher, stockOutbox));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        bookService = proxyFactory.getProxy();
+    }
+
+    @Test
+    void recordsSuccessfulCallsTest() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.of(new Book()));
+
+        bookService.getBookById(1L);
+        bookService.getBookById(1L);
+
+        assertEquals(2, timerCount("getBookById", "ok"));
+        assertEquals(0, timerCount("getBookById", "not-found"));
+    }
+
+    @Test
+    void tagsFailuresByOutcomeTest() {
+        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertThrows(NoSuchElementException.class, () -> bookService.getBookById(1L));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage("not a cursor", null, null, null));
+
+        assertEquals(1, timerCount("getBookById", "not-found"));
+        assertEquals(1, timerCount("getBooksPage", "invalid"));
+    }
+
+    private long timerCount(String method, String outcome) {
+        return meterRegistry.get(ServiceMetricsAspect.TIMER_NAME)
+                .tag("service", "BookService")
+                .tag("method", method)
+                .tag("outcome", outcome)
+                .timer()
+                .count();
+    }
+}
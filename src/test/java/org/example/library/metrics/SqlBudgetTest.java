@@ -0,0 +1,75 @@
+package org.example.library.metrics;
+
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "library.sql.budget.fail-on-exceed=true")
+@AutoConfigureMockMvc
+public class SqlBudgetTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate table borrowings, books, members, loan_events, stock_outbox");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void hotEndpointsStayWithinStatementBudgetTest() throws Exception {
+        Book book = new Book();
+        book.setTitle("Budget " + System.nanoTime());
+        book.setAuthor("Test Author");
+        book.setAmount(1);
+        Long bookId = bookRepository.save(book).getId();
+
+        Member member = new Member();
+        member.setName("Budget Reader " + System.nanoTime());
+        member = memberRepository.save(member);
+
+        mockMvc.perform(get("/book/{id}", bookId)).andExpect(status().isOk());
+        mockMvc.perform(get("/book")).andExpect(status().isOk());
+        mockMvc.perform(get("/member")).andExpect(status().isOk());
+        mockMvc.perform(post("/library/add/{memberId}/{bookId}", member.getId(), bookId)).andExpect(status().isOk());
+        mockMvc.perform(get("/library/books/member/{memberName}", member.getName())).andExpect(status().isOk());
+        mockMvc.perform(get("/library/books/borrowed_count")).andExpect(status().isOk());
+        mockMvc.perform(delete("/library/return/{memberId}/{bookId}", member.getId(), bookId)).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,46 @@
+package org.example.library.metrics;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SqlStatementCounterTest {
+
+    private SqlStatementCounter sqlStatementCounter;
+
+    @BeforeEach
+    void setUp() {
+        sqlStatementCounter = new SqlStatementCounter();
+        sqlStatementCounter.reset();
+    }
+
+    @Test
+    void countsStatementsAndSummarizesMostFrequentTest() {
+        sqlStatementCounter.record("select * from books where id=?");
+        sqlStatementCounter.record("select * from members\n  where id=?");
+        sqlStatementCounter.record("select * from books where id=?");
+
+        assertEquals(3, sqlStatementCounter.count());
+        assertEquals("2x select * from books where id=? | 1x select * from members where id=?", sqlStatementCounter.summary());
+
+        sqlStatementCounter.reset();
+        assertEquals(0, sqlStatementCounter.count());
+        assertEquals("", sqlStatementCounter.summary());
+    }
+
+    @Test
+    void ignoresStatementsOutsideCountedScopeTest() {
+        sqlStatementCounter.stop();
+        sqlStatementCounter.record("select * from stock_outbox where feed_offset is null");
+        assertEquals(0, sqlStatementCounter.count());
+
+        sqlStatementCounter.reset();
+        sqlStatementCounter.record("select * from books where id=?");
+        sqlStatementCounter.stop();
+        sqlStatementCounter.record("select * from books where id=?");
+
+        assertEquals(0, sqlStatementCounter.count());
+        assertEquals("", sqlStatementCounter.summary());
+    }
+}
@@ -0,0 +1,122 @@
+package org.example.library.outbox;
+
+import org.example.library.dto.StockChangeDto;
+import org.example.library.dto.StockChangeFeedDto;
+import org.example.library.entities.StockChangeType;
+import org.example.library.events.StockFeedAdvancedEvent;
+import org.example.library.repositories.StockOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class StockChangeFeedTest {
+    private static final StockChangeDto CHANGE = new StockChangeDto(8L, 1L, 5L, StockChangeType.BORROWED, 2, 1, Instant.parse("2026-10-01T12:00:00Z"));
+
+    @Mock
+    private StockOutboxRepository stockOutboxRepository;
+
+    @InjectMocks
+    private StockChangeFeed stockChangeFeed;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void returnsAvailableChangesImmediatelyTest() throws Exception {
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(StockChangeFeed.DEFAULT_LIMIT))).thenReturn(List.of(CHANGE));
+
+        CompletableFuture<StockChangeFeedDto> result = stockChangeFeed.read(7L, null, 20);
+
+        assertTrue(result.isDone());
+        assertEquals(new StockChangeFeedDto(List.of(CHANGE), 8L), result.get());
+    }
+
+    @Test
+    void wakesWaitingReaderWhenFeedAdvancesTest() throws Exception {
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10))).thenReturn(List.of());
+
+        CompletableFuture<StockChangeFeedDto> result = stockChangeFeed.read(7L, 10, 20);
+        assertFalse(result.isDone());
+        assertEquals(1, stockChangeFeed.waiting());
+
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10))).thenReturn(List.of(CHANGE));
+        stockChangeFeed.onFeedAdvanced(new StockFeedAdvancedEvent(8L));
+
+        assertEquals(new StockChangeFeedDto(List.of(CHANGE), 8L), result.get(1, TimeUnit.SECONDS));
+        assertEquals(0, stockChangeFeed.waiting());
+    }
+
+    @Test
+    void pollPicksUpChangesRelayedElsewhereTest() throws Exception {
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10))).thenReturn(List.of());
+        CompletableFuture<StockChangeFeedDto> result = stockChangeFeed.read(7L, 10, 20);
+
+        when(stockOutboxRepository.findLastFeedOffset()).thenReturn(8L);
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10))).thenReturn(List.of(CHANGE));
+        stockChangeFeed.poll();
+
+        assertEquals(List.of(CHANGE), result.get(1, TimeUnit.SECONDS).changes());
+    }
+
+    @Test
+    void returnsEmptyPageWhenWaitExpiresTest() throws Exception {
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10))).thenReturn(List.of());
+
+        StockChangeFeedDto page = stockChangeFeed.read(7L, 10, 1).get(5, TimeUnit.SECONDS);
+
+        assertEquals(new StockChangeFeedDto(List.of(), 7L), page);
+    }
+
+    @Test
+    void wakesWaitersOnSameOffsetWithOneFetchTest() throws Exception {
+        StockChangeDto next = new StockChangeDto(9L, 1L, 5L, StockChangeType.RETURNED, 1, 2, Instant.parse("2026-10-01T12:01:00Z"));
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(eq(7L), any(Limit.class))).thenReturn(List.of());
+        CompletableFuture<StockChangeFeedDto> first = stockChangeFeed.read(7L, 1, 20);
+        CompletableFuture<StockChangeFeedDto> second = stockChangeFeed.read(7L, 10, 20);
+
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10))).thenReturn(List.of(CHANGE, next));
+        stockChangeFeed.onFeedAdvanced(new StockFeedAdvancedEvent(9L));
+        stockChangeFeed.onFeedAdvanced(new StockFeedAdvancedEvent(9L));
+
+        assertEquals(new StockChangeFeedDto(List.of(CHANGE), 8L), first.get(1, TimeUnit.SECONDS));
+        assertEquals(new StockChangeFeedDto(List.of(CHANGE, next), 9L), second.get(1, TimeUnit.SECONDS));
+        verify(stockOutboxRepository, times(1)).findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(1));
+        verify(stockOutboxRepository, times(2)).findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10));
+    }
+
+    @Test
+    void skipsFetchWhenOffsetHasNotAdvancedTest() {
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10))).thenReturn(List.of());
+        stockChangeFeed.onFeedAdvanced(new StockFeedAdvancedEvent(7L));
+        CompletableFuture<StockChangeFeedDto> result = stockChangeFeed.read(7L, 10, 20);
+
+        when(stockOutboxRepository.findLastFeedOffset()).thenReturn(7L);
+        stockChangeFeed.poll();
+        stockChangeFeed.poll();
+
+        assertFalse(result.isDone());
+        verify(stockOutboxRepository, times(1)).findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(7L, Limit.of(10));
+    }
+
+    @Test
+    void rejectsInvalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> stockChangeFeed.read(-1L, null, null));
+        assertThrows(IllegalArgumentException.class, () -> stockChangeFeed.read(0L, StockChangeFeed.MAX_LIMIT + 1, null));
+        assertThrows(IllegalArgumentException.class, () -> stockChangeFeed.read(0L, null, StockChangeFeed.MAX_WAIT_SECONDS + 1));
+    }
+}
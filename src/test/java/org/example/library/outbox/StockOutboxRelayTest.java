@@ -0,0 +1,90 @@
+package org.example.library.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.library.dto.StockChangeDto;
+import org.example.library.entities.StockChangeType;
+import org.example.library.events.StockFeedAdvancedEvent;
+import org.example.library.repositories.StockOutboxRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+public class StockOutboxRelayTest {
+    private static final Instant NOW = Instant.parse("2026-10-01T12:00:00Z");
+
+    @Mock
+    private StockOutboxRepository stockOutboxRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InMemoryStockChangeSink sink;
+    private StockOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        sink = new InMemoryStockChangeSink();
+        sink.setCapacity(2);
+        relay = new StockOutboxRelay(stockOutboxRepository, List.of(sink), eventPublisher, meterRegistry);
+        relay.setBatchSize(500);
+    }
+
+    @Test
+    void relaysAssignedChangesToSinksTest() {
+        List<StockChangeDto> changes = List.of(
+                new StockChangeDto(11L, 1L, 5L, StockChangeType.BORROWED, 2, 1, NOW),
+                new StockChangeDto(12L, 1L, 5L, StockChangeType.RETURNED, 3, 0, NOW),
+                new StockChangeDto(13L, 2L, null, StockChangeType.ADDED, 1, 0, NOW));
+        when(stockOutboxRepository.tryRelayLock(StockOutboxRelay.RELAY_LOCK)).thenReturn(true);
+        when(stockOutboxRepository.findLastFeedOffset()).thenReturn(10L);
+        when(stockOutboxRepository.assignFeedOffsets(10L, 500)).thenReturn(3);
+        when(stockOutboxRepository.findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(10L, Limit.of(3))).thenReturn(changes);
+
+        assertEquals(3, relay.relay());
+
+        assertEquals(changes.subList(1, 3), sink.changes());
+        verify(eventPublisher).publishEvent(new StockFeedAdvancedEvent(13L));
+        assertEquals(3.0, meterRegistry.counter("library.outbox.relayed").count());
+    }
+
+    @Test
+    void skipsRelayWhenAnotherInstanceHoldsTheLockTest() {
+        when(stockOutboxRepository.tryRelayLock(StockOutboxRelay.RELAY_LOCK)).thenReturn(false);
+
+        assertEquals(0, relay.relay());
+
+        verify(stockOutboxRepository, never()).assignFeedOffsets(anyLong(), anyInt());
+        verifyNoInteractions(eventPublisher);
+    }
+
+    @Test
+    void doesNothingWithoutPendingChangesTest() {
+        when(stockOutboxRepository.tryRelayLock(StockOutboxRelay.RELAY_LOCK)).thenReturn(true);
+        when(stockOutboxRepository.findLastFeedOffset()).thenReturn(10L);
+        when(stockOutboxRepository.assignFeedOffsets(10L, 500)).thenReturn(0);
+
+        assertEquals(0, relay.relay());
+
+        verify(stockOutboxRepository, never()).findByFeedOffsetGreaterThanOrderByFeedOffsetAsc(anyLong(), any());
+        assertEquals(List.of(), sink.changes());
+        verifyNoInteractions(eventPublisher);
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.library.policy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.library.entities.MemberTier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BorrowingPolicyEngineTest {
+    private static final long NOW = Instant.parse("2026-12-24T12:00:00Z").toEpochMilli();
+
+    @TempDir
+    Path directory;
+
+    private Path policyFile;
+    private SimpleMeterRegistry meterRegistry;
+    private BorrowingPolicyEngine engine;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        policyFile = directory.resolve("borrowing-policy.json");
+        Files.writeString(policyFile, """
+                {
+                  "tierLimits": {"PREMIUM": 3},
+                  "titleLimits": [{"title": "Dune", "author": "Frank Herbert", "limit": 2}],
+                  "blackouts": [
+                    {"from": "2026-12-24T00:00:00Z", "to": "2026-12-26T00:00:00Z", "titles": ["Emma"], "tiers": ["STANDARD"]}
+                  ]
+                }
+                """);
+        meterRegistry = new SimpleMeterRegistry();
+        engine = new BorrowingPolicyEngine(new DefaultResourceLoader(), new ObjectMapper().findAndRegisterModules(), meterRegistry);
+        engine.setLocation(policyFile.toUri().toString());
+        engine.setBookLimit(1);
+        engine.init();
+    }
+
+    @Test
+    void memberLimitIsExclusiveTest() {
+        CompiledBorrowingPolicy policy = engine.current();
+
+        assertNull(policy.evaluate(MemberTier.STANDARD, 0, null, null, 0, NOW));
+        assertEquals(PolicyViolation.MEMBER_LIMIT, policy.evaluate(MemberTier.STANDARD, 1, null, null, 0, NOW));
+        assertNull(policy.evaluate(MemberTier.PREMIUM, 2, null, null, 0, NOW));
+        assertEquals(PolicyViolation.MEMBER_LIMIT, policy.evaluate(MemberTier.PREMIUM, 3, null, null, 0, NOW));
+    }
+
+    @Test
+    void titleLimitAndBlackoutTest() {
+        CompiledBorrowingPolicy policy = engine.current();
+
+        assertTrue(policy.needsTitle());
+        assertTrue(policy.limitsTitle("Dune", "Frank Herbert"));
+        assertFalse(policy.limitsTitle("Dune", "Brian Herbert"));
+        assertFalse(policy.limitsTitle("Emma", "Jane Austen"));
+        assertNull(policy.evaluate(MemberTier.PREMIUM, 0, "Dune", "Frank Herbert", 1, NOW));
+        assertEquals(PolicyViolation.TITLE_LIMIT, policy.evaluate(MemberTier.PREMIUM, 0, "Dune", "Frank Herbert", 2, NOW));
+        assertNull(policy.evaluate(MemberTier.PREMIUM, 0, "Dune", "Brian Herbert", 2, NOW));
+        assertEquals(PolicyViolation.BLACKOUT, policy.evaluate(MemberTier.STANDARD, 0, "Emma", "Jane Austen", 0, NOW));
+        assertNull(policy.evaluate(MemberTier.PREMIUM, 0, "Emma", "Jane Austen", 0, NOW));
+        assertNull(policy.evaluate(MemberTier.STANDARD, 0, "Emma", "Jane Austen", 0, Instant.parse("2026-12-26T00:00:00Z").toEpochMilli()));
+    }
+
+    @Test
+    void hotReloadTest() throws IOException {
+        CompiledBorrowingPolicy before = engine.current();
+
+        engine.refresh();
+        assertSame(before, engine.current());
+
+        Files.writeString(policyFile, "{\"defaultLimit\": 5}");
+        engine.refresh();
+
+        assertNotSame(before, engine.current());
+        assertEquals(5, engine.current().memberLimit(MemberTier.STAFF));
+        assertFalse(engine.current().needsTitle());
+        assertEquals(1.0, meterRegistry.counter("library.policy.reloads", "outcome", "ok").count());
+    }
+
+    @Test
+    void invalidPolicyKeepsPreviousOneTest() throws IOException {
+        CompiledBorrowingPolicy before = engine.current();
+
+        Files.writeString(policyFile, "{\"tierLimits\": {\"STAFF\": -1}}");
+        engine.refresh();
+        Files.writeString(policyFile, "{\"blackouts\": [{\"from\": \"2026-12-26T00:00:00Z\", \"to\": \"2026-12-24T00:00:00Z\"}]}");
+        engine.refresh();
+        Files.writeString(policyFile, "{not json");
+        engine.refresh();
+
+        assertSame(before, engine.current());
+        assertEquals(3.0, meterRegistry.counter("library.policy.reloads", "outcome", "failed").count());
+    }
+}
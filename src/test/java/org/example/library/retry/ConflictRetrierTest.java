@@ -0,0 +1,111 @@
+package org.example.library.retry;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.OptimisticLockException;
+import jakarta.persistence.PersistenceUnitUtil;
+import org.example.library.entities.Book;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConflictRetrierTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private PersistenceUnitUtil persistenceUnitUtil;
+    private ConflictHotspots conflictHotspots;
+    private ConflictRetrier conflictRetrier;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        persistenceUnitUtil = mock(PersistenceUnitUtil.class);
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.getPersistenceUnitUtil()).thenReturn(persistenceUnitUtil);
+        conflictHotspots = new ConflictHotspots(entityManagerFactory);
+        RetryProperties retryProperties = new RetryProperties(
+                new RetryProperties.Policy(3, Duration.ofMillis(1), Duration.ofMillis(2)),
+                Map.of("book-save", new RetryProperties.Policy(5, null, null))
+        );
+        conflictRetrier = new ConflictRetrier(retryProperties, meterRegistry, conflictHotspots);
+    }
+
+    @Test
+    void retriesUntilAttemptSucceedsTest() throws Throwable {
+        AtomicInteger attempts = new AtomicInteger();
+
+        String result = conflictRetrier.execute("book-update", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException("org.example.library.entities.Book", 1L);
+            }
+            return "done";
+        });
+
+        assertEquals("done", result);
+        assertEquals(3, attempts.get());
+        assertEquals(2, meterRegistry.counter("library.retry.conflicts", "operation", "book-update").count());
+        assertEquals(2, meterRegistry.counter("library.retry.retries", "operation", "book-update").count());
+        assertEquals(2L, conflictHotspots.top(10).get("Book#1"));
+    }
+
+    @Test
+    void keysJpaConflictsByEntityIdTest() throws Throwable {
+        Book book = new Book();
+        book.setId(7L);
+        when(persistenceUnitUtil.getIdentifier(book)).thenReturn(7L);
+        AtomicInteger attempts = new AtomicInteger();
+
+        conflictRetrier.execute("book-update", () -> {
+            if (attempts.incrementAndGet() < 2) {
+                throw new OptimisticLockException("Row was updated by another transaction", null, book);
+            }
+            return null;
+        });
+
+        assertEquals(1L, conflictHotspots.top(10).get("Book#7"));
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsTest() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class, () -> conflictRetrier.execute("book-save", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException("org.example.library.entities.Book", 1L);
+        }));
+
+        assertEquals(5, attempts.get());
+        assertEquals(1, meterRegistry.counter("library.retry.exhausted", "operation", "book-save").count());
+    }
+
+    @Test
+    void doesNotRetryOtherExceptionsTest() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> conflictRetrier.execute("book-save", () -> {
+            attempts.incrementAndGet();
+            throw new IllegalStateException("Book with this author and title already exists");
+        }));
+
+        assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void backoffStaysWithinMaxBackoffTest() {
+        RetryProperties.Policy policy = new RetryProperties.Policy(10, Duration.ofMillis(10), Duration.ofMillis(50));
+        for (int attempt = 1; attempt < 10; attempt++) {
+            long backoff = ConflictRetrier.backoffNanos(policy, attempt);
+            assertTrue(backoff >= 0 && backoff <= Duration.ofMillis(50).toNanos());
+        }
+    }
+}
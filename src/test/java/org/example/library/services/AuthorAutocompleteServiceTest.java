@@ -0,0 +1,71 @@
+package org.example.library.services;
+
+import org.example.library.dto.AuthorCountDto;
+import org.example.library.dto.AuthorSuggestionDto;
+import org.example.library.events.BookChangedEvent;
+import org.example.library.repositories.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+public class AuthorAutocompleteServiceTest {
+    @Mock
+    private BookRepository bookRepository;
+
+    @InjectMocks
+    private AuthorAutocompleteService authorAutocompleteService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(bookRepository.streamAuthorTitleCounts()).thenReturn(Stream.of(
+                new AuthorCountDto("Frank Herbert", 6),
+                new AuthorCountDto("Brian Herbert", 3),
+                new AuthorCountDto("Jane Austen", 2)));
+        authorAutocompleteService.load();
+    }
+
+    @Test
+    void completeFromLoadedIndexTest() {
+        assertEquals(List.of(
+                new AuthorSuggestionDto("Brian Herbert", 3),
+                new AuthorSuggestionDto("Frank Herbert", 6)
+        ), authorAutocompleteService.complete("herb", null));
+        assertEquals(List.of(new AuthorSuggestionDto("Jane Austen", 2)), authorAutocompleteService.complete("ja", 1));
+    }
+
+    @Test
+    void bookChangesApplyBeforeAndAfterCompactionTest() {
+        when(bookRepository.countTitlesByAuthorIn(anyCollection())).thenReturn(List.of(
+                new AuthorCountDto("Frank Herbert", 7),
+                new AuthorCountDto("Hermann Hesse", 1)));
+        authorAutocompleteService.onBookChanged(new BookChangedEvent(Set.of(1L, 2L, 3L), Set.of("Frank Herbert", "Hermann Hesse", "Brian Herbert")));
+
+        List<AuthorSuggestionDto> expected = List.of(
+                new AuthorSuggestionDto("Frank Herbert", 7),
+                new AuthorSuggestionDto("Hermann Hesse", 1)
+        );
+        assertEquals(expected, authorAutocompleteService.complete("her", 10));
+
+        authorAutocompleteService.compact();
+        assertEquals(expected, authorAutocompleteService.complete("her", 10));
+    }
+
+    @Test
+    void completeRejectsInvalidArgumentsTest() {
+        assertThrows(IllegalArgumentException.class, () -> authorAutocompleteService.complete(" ", null));
+        assertThrows(IllegalArgumentException.class, () -> authorAutocompleteService.complete("he", 0));
+        assertThrows(IllegalArgumentException.class, () -> authorAutocompleteService.complete("he", AuthorAutocompleteService.MAX_LIMIT + 1));
+    }
+}
@@ -0,0 +1,168 @@
+package org.example.library.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.example.library.dto.BulkImportResultDto;
+import org.example.library.entities.Book;
+import org.example.library.entities.StockChangeType;
+import org.example.library.outbox.StockOutbox;
+import org.example.library.repositories.BookRepository;
+import org.example.library.retry.ConflictRetrier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class BookImportServiceTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private ConflictRetrier conflictRetrier;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockOutbox stockOutbox;
+
+    private BookImportService bookImportService;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        MockitoAnnotations.openMocks(this);
+        Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+        bookImportService = new BookImportService(bookRepository, new ObjectMapper(), validator, transactionTemplate, conflictRetrier, cacheManager, eventPublisher, stockOutbox);
+        bookImportService.setChunkSize(2);
+
+        when(conflictRetrier.execute(eq("book-import"), any())).thenAnswer(invocation -> invocation.<ConflictRetrier.Attempt<?>>getArgument(1).run());
+        when(transactionTemplate.execute(any())).thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void importMergesDuplicatesWithinChunkAndExistingBooksTest() throws IOException {
+        Book existingBook = new Book();
+        existingBook.setId(1L);
+        existingBook.setTitle("Existing book");
+        existingBook.setAuthor("Known Author");
+        existingBook.setAmount(3);
+        when(bookRepository.findByTitleIn(anyCollection())).thenReturn(List.of(existingBook));
+
+        String body = """
+                [
+                  {"title": "New book", "author": "Some Author"},
+                  {"title": "New book", "author": "Some Author"},
+                  {"title": "Existing book", "author": "Known Author"}
+                ]
+                """;
+        BulkImportResultDto result = bookImportService.importBooks(stream(body));
+
+        assertEquals(3, result.rows());
+        assertEquals(3, result.accepted());
+        assertEquals(1, result.created());
+        assertEquals(1, result.updated());
+        assertEquals(2, result.chunks().size());
+        assertEquals(4, existingBook.getAmount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Book>> savedBooks = ArgumentCaptor.forClass(List.class);
+        verify(bookRepository, times(2)).saveAll(savedBooks.capture());
+        assertEquals(1, savedBooks.getAllValues().get(0).size());
+        assertEquals(2, savedBooks.getAllValues().get(0).get(0).getAmount());
+        verify(bookRepository, times(2)).flush();
+        verify(stockOutbox).record(StockChangeType.ADDED, null, Set.of(1L));
+    }
+
+    @Test
+    void importCreatesNewBooksWithRowAmountLikeSaveBookTest() throws IOException {
+        Book existingBook = new Book();
+        existingBook.setId(1L);
+        existingBook.setTitle("Existing book");
+        existingBook.setAuthor("Known Author");
+        existingBook.setAmount(3);
+        when(bookRepository.findByTitleIn(anyCollection())).thenReturn(List.of(existingBook));
+        bookImportService.setChunkSize(3);
+
+        String body = """
+                [
+                  {"title": "New book", "author": "Some Author", "amount": 5},
+                  {"title": "New book", "author": "Some Author", "amount": 9},
+                  {"title": "Existing book", "author": "Known Author", "amount": 7}
+                ]
+                """;
+        BulkImportResultDto result = bookImportService.importBooks(stream(body));
+
+        assertEquals(1, result.created());
+        assertEquals(1, result.updated());
+        assertEquals(4, existingBook.getAmount());
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Book>> savedBooks = ArgumentCaptor.forClass(List.class);
+        verify(bookRepository).saveAll(savedBooks.capture());
+        assertEquals(7, savedBooks.getValue().get(0).getAmount());
+    }
+
+    @Test
+    void importReportsInvalidRowsWithoutAbortingTest() throws IOException {
+        when(bookRepository.findByTitleIn(anyCollection())).thenReturn(List.of());
+
+        String body = """
+                {"title": "lowercase title", "author": "Some Author"}
+                {"title": "Valid book", "author": "Some Author"}
+                {"title": "Another book", "author": "oneword"}
+                {"title": "Broken book", "amount": "many"}
+                """;
+        BulkImportResultDto result = bookImportService.importBooks(stream(body));
+
+        assertEquals(4, result.rows());
+        assertEquals(1, result.accepted());
+        assertEquals(1, result.created());
+        assertEquals(3, result.failed());
+        assertEquals(0L, result.chunks().get(0).errors().get(0).row());
+        assertEquals(2L, result.chunks().get(1).errors().get(0).row());
+        assertEquals(3L, result.chunks().get(1).errors().get(1).row());
+    }
+
+    @Test
+    void importReportsFailedChunkTest() throws IOException {
+        when(bookRepository.findByTitleIn(anyCollection())).thenThrow(new IllegalStateException("Database unavailable"));
+
+        BulkImportResultDto result = bookImportService.importBooks(stream("{\"title\": \"Valid book\", \"author\": \"Some Author\"}"));
+
+        assertEquals(1, result.rows());
+        assertEquals(0, result.accepted());
+        assertEquals(1, result.failed());
+        assertEquals("Chunk was not imported: Database unavailable", result.chunks().get(0).errors().get(0).message());
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
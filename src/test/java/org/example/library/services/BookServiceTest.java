@@ -1,20 +1,38 @@
 package org.example.library.services;
 
+import org.example.library.dto.BookSearchResultDto;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.PageDto;
 import org.example.library.entities.Book;
 import org.example.library.entities.Member;
+import org.example.library.entities.StockChangeType;
+import org.example.library.events.BookChangedEvent;
+import org.example.library.outbox.StockOutbox;
 import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.BookSearchRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class BookServiceTest {
@@ -23,6 +41,15 @@ public class BookServiceTest {
     @Mock
     private BookRepository bookRepository;
 
+    @Mock
+    private BookSearchRepository bookSearchRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockOutbox stockOutbox;
+
     @InjectMocks
     private BookService bookService;
 
@@ -38,8 +65,13 @@ public class BookServiceTest {
         newBook.setTitle("Test book");
         newBook.setAuthor("Test author");
 
-        when(bookRepository.findByTitleAndAuthor(newBook.getTitle(), newBook.getAuthor())).thenReturn(null);
-        when(bookRepository.save(any(Book.class))).thenReturn(newBook);
+        Book insertedBook = new Book();
+        insertedBook.setId(1L);
+        insertedBook.setTitle("Test book");
+        insertedBook.setAuthor("Test author");
+        insertedBook.setAmount(1);
+
+        when(bookRepository.upsertCopy(newBook.getTitle(), newBook.getAuthor(), newBook.getAmount())).thenReturn(insertedBook);
 
         Book result = bookService.saveBook(newBook);
 
@@ -47,7 +79,27 @@ public class BookServiceTest {
         assertThat(result.getTitle()).isEqualTo("Test book");
         assertThat(result.getAuthor()).isEqualTo("Test author");
         assertThat(result.getAmount()).isEqualTo(1); // Припускаючи, що початкове значення amount = 0 і має бути інкрементовано
+        verify(stockOutbox).record(StockChangeType.ADDED, null, List.of(1L));
+        verify(eventPublisher).publishEvent(BookChangedEvent.of(1L, "Test author"));
+
+    }
+
+    @Test
+    void saveNewBookWithAmountTest() {
+        Book newBook = new Book();
+        newBook.setTitle("Test book");
+        newBook.setAuthor("Test author");
+        newBook.setAmount(4);
 
+        Book insertedBook = new Book();
+        insertedBook.setId(1L);
+        insertedBook.setTitle("Test book");
+        insertedBook.setAuthor("Test author");
+        insertedBook.setAmount(5);
+
+        when(bookRepository.upsertCopy("Test book", "Test author", 4)).thenReturn(insertedBook);
+
+        assertThat(bookService.saveBook(newBook).getAmount()).isEqualTo(5);
     }
 
     @Test
@@ -58,14 +110,20 @@ public class BookServiceTest {
         existingBook.setAuthor("Test author");
         existingBook.setAmount(2);
 
-        when(bookRepository.findByTitleAndAuthor(existingBook.getTitle(), existingBook.getAuthor())).thenReturn(existingBook);
+        Book updatedBook = new Book();
+        updatedBook.setId(1L);
+        updatedBook.setTitle("Test book");
+        updatedBook.setAuthor("Test author");
+        updatedBook.setAmount(3);
+
+        when(bookRepository.upsertCopy(existingBook.getTitle(), existingBook.getAuthor(), existingBook.getAmount())).thenReturn(updatedBook);
         Book result = bookService.saveBook(existingBook);
 
         assertThat(result).isNotNull();
         assertThat(result.getTitle()).isEqualTo("Test book");
         assertThat(result.getAuthor()).isEqualTo("Test author");
         assertThat(result.getAmount()).isEqualTo(3);
-
+        verify(eventPublisher).publishEvent(BookChangedEvent.of(1L, "Test author"));
     }
 
     @Test
@@ -111,6 +169,7 @@ public class BookServiceTest {
         assertEquals(existedBook.getTitle(), dataBook.getTitle());
         assertEquals(existedBook.getAuthor(), dataBook.getAuthor());
         assertNotEquals(existedBook.getAmount(), dataBook.getAmount());
+        verify(eventPublisher).publishEvent(new BookChangedEvent(Set.of(1L), Set.of("Author", "Updated author")));
     }
 
     @Test
@@ -159,6 +218,7 @@ public class BookServiceTest {
         when(bookRepository.findById(existedBook.getId())).thenReturn(Optional.of(existedBook));
 
         assertDoesNotThrow(() -> bookService.deleteById(existedBook.getId()));
+        verify(stockOutbox).record(StockChangeType.DELETED, null, List.of(1L));
     }
 
     @Test
@@ -183,4 +243,82 @@ public class BookServiceTest {
         assertEquals("Book cannot be deleted as it is currently borrowed.", exception.getMessage());
     }
 
+    @Test
+    void getFirstBooksPageTest() {
+        List<BookSummaryDto> rows = List.of(
+                new BookSummaryDto(1L, "Book 1", "First Author", 1),
+                new BookSummaryDto(2L, "Book 2", "First Author", 1),
+                new BookSummaryDto(3L, "Book 3", "First Author", 1)
+        );
+        when(bookRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Limit.class))).thenReturn(rows);
+
+        PageDto<BookSummaryDto> page = bookService.getBooksPage(null, 2, null, null);
+
+        assertEquals(rows.subList(0, 2), page.items());
+        assertNotNull(page.nextCursor());
+        assertEquals(2L, PageDto.afterId(page.nextCursor()));
+    }
+
+    @Test
+    void getLastBooksPageByAuthorAndTitlePrefixTest() {
+        List<BookSummaryDto> rows = List.of(new BookSummaryDto(7L, "Book 7", "First Author", 1));
+        when(bookRepository.findByIdGreaterThanAndAuthorAndTitleStartingWithOrderByIdAsc(eq(5L), eq("First Author"), eq("Bo"), any(Limit.class))).thenReturn(rows);
+
+        PageDto<BookSummaryDto> firstPage = PageDto.of(List.of(new BookSummaryDto(5L, "Book 5", "First Author", 1), new BookSummaryDto(6L, "Book 6", "First Author", 1)), 1, BookSummaryDto::id);
+        PageDto<BookSummaryDto> page = bookService.getBooksPage(firstPage.nextCursor(), 10, "First Author", "Bo");
+
+        assertEquals(rows, page.items());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    void getBooksPageWithInvalidCursorTest() {
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage("not a cursor", 10, null, null));
+        assertThrows(IllegalArgumentException.class, () -> bookService.getBooksPage(null, PageDto.MAX_SIZE + 1, null, null));
+    }
+
+    @Test
+    void searchBooksBuildsPrefixQueryTest() {
+        List<BookSearchResultDto> rows = List.of(
+                new BookSearchResultDto(1L, "Dune", "Frank Herbert", 2, 0.9),
+                new BookSearchResultDto(7L, "Dune Messiah", "Frank Herbert", 1, 0.6),
+                new BookSearchResultDto(9L, "Children of Dune", "Frank Herbert", 1, 0.4));
+        when(bookSearchRepository.search("dune:* & herb:*", 0, 3)).thenReturn(rows);
+
+        PageDto<BookSearchResultDto> page = bookService.searchBooks("  DUNE, o' Herb", null, 2);
+
+        assertEquals(rows.subList(0, 2), page.items());
+        assertNotNull(page.nextCursor());
+
+        when(bookSearchRepository.search("dune:* & herb:*", 2, 3)).thenReturn(rows.subList(2, 3));
+        PageDto<BookSearchResultDto> next = bookService.searchBooks("dune herb", page.nextCursor(), 2);
+
+        assertEquals(rows.subList(2, 3), next.items());
+        assertNull(next.nextCursor());
+    }
+
+    @Test
+    void searchBooksStopsAtMaxOffsetTest() {
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("offset:990".getBytes(StandardCharsets.UTF_8));
+        List<BookSearchResultDto> rows = new ArrayList<>();
+        for (long id = 1; id <= 11; id++) {
+            rows.add(new BookSearchResultDto(id, "Dune " + id, "Frank Herbert", 1, 0.5));
+        }
+        when(bookSearchRepository.search("dune:*", 990, 11)).thenReturn(rows);
+
+        PageDto<BookSearchResultDto> page = bookService.searchBooks("dune", cursor, 20);
+
+        assertEquals(rows.subList(0, 10), page.items());
+        assertNull(page.nextCursor());
+
+        String last = Base64.getUrlEncoder().withoutPadding().encodeToString("offset:1000".getBytes(StandardCharsets.UTF_8));
+        assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks("dune", last, 20));
+    }
+
+    @Test
+    void searchBooksWithoutWordsTest() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> bookService.searchBooks(" & ! a ", null, null));
+        assertEquals("Search query must contain a word of at least 2 letters or digits", exception.getMessage());
+        verify(bookSearchRepository, never()).search(any(), anyInt(), anyInt());
+    }
 }
@@ -0,0 +1,56 @@
+package org.example.library.services;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.example.library.dto.BorrowedCountDriftDto;
+import org.example.library.repositories.BookRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.when;
+
+public class BorrowedCountCheckerTest {
+
+    @Mock
+    private BookRepository bookRepository;
+
+    private MeterRegistry meterRegistry;
+
+    private BorrowedCountChecker borrowedCountChecker;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        borrowedCountChecker = new BorrowedCountChecker(bookRepository, meterRegistry);
+    }
+
+    @Test
+    void checkReportsDriftingBooksTest() {
+        List<BorrowedCountDriftDto> drift = List.of(
+                new BorrowedCountDriftDto(1L, "Book", 2, 1L),
+                new BorrowedCountDriftDto(2L, "Other book", 0, 3L)
+        );
+        when(bookRepository.findBorrowedCountDrift()).thenReturn(drift);
+
+        List<BorrowedCountDriftDto> result = borrowedCountChecker.check();
+
+        assertEquals(drift, result);
+        assertEquals(2.0, meterRegistry.get("library.borrowed_count.drift").gauge().value());
+    }
+
+    @Test
+    void checkClearsDriftGaugeWhenConsistentTest() {
+        when(bookRepository.findBorrowedCountDrift()).thenReturn(List.of(new BorrowedCountDriftDto(1L, "Book", 2, 1L)), List.of());
+
+        borrowedCountChecker.check();
+        borrowedCountChecker.check();
+
+        assertEquals(0.0, meterRegistry.get("library.borrowed_count.drift").gauge().value());
+    }
+}
@@ -1,23 +1,53 @@
 package org.example.library.services;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.example.library.dto.BatchItemResultDto;
+import org.example.library.dto.BatchOutcome;
 import org.example.library.dto.BookDto;
-import org.example.library.entities.Book;
-import org.example.library.entities.Member;
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.dto.BorrowingExportDto;
+import org.example.library.dto.LoanEventDto;
+import org.example.library.dto.PageDto;
+import org.example.library.entities.MemberTier;
+import org.example.library.entities.StockChangeType;
+import org.example.library.events.LoanEvent;
+import org.example.library.outbox.StockOutbox;
+import org.example.library.policy.BorrowingPolicy;
+import org.example.library.policy.BorrowingPolicyEngine;
+import org.example.library.policy.CompiledBorrowingPolicy;
 import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.LoanHistoryRepository;
 import org.example.library.repositories.MemberRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
-
+import org.mockito.Spy;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
 import java.util.*;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
-
 public class BorrowingsServiceTest {
 
     @Mock
@@ -25,6 +55,25 @@ public class BorrowingsServiceTest {
 
     @Mock
     private MemberRepository memberRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper();
+
+    @Mock
+    private CacheManager cacheManager;
+
+    @Mock
+    private BorrowingPolicyEngine borrowingPolicyEngine;
+
+    @Mock
+    private LoanHistoryRepository loanHistoryRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private StockOutbox stockOutbox;
+
     @InjectMocks
     private BorrowingsService borrowingsService;
 
@@ -33,177 +82,190 @@ public class BorrowingsServiceTest {
         MockitoAnnotations.openMocks(this);
     }
 
+    private void usePolicy(int bookLimit) {
+        usePolicy(new BorrowingPolicy(bookLimit, null, null, null));
+    }
+
+    private void usePolicy(BorrowingPolicy policy) {
+        when(borrowingPolicyEngine.current()).thenReturn(CompiledBorrowingPolicy.compile(policy, 10));
+    }
+
 
     @Test
     void addBorrowingWithNoSuchUserTest() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.empty());
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> borrowingsService.addBorrowing(1L, 1L));
-        assertEquals(exception.getMessage(), "No book with such id");
+        assertEquals(exception.getMessage(), "No member with such id");
+        verify(bookRepository, never()).borrowCopyIfAvailable(1L);
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
     void addBorrowingWithNoSuchBookTest() {
-        Book book = new Book();
-        book.setId(1L);
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.empty());
+        usePolicy(10);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(bookRepository.borrowCopyIfAvailable(1L)).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(false);
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> borrowingsService.addBorrowing(1L, 1L));
-        assertEquals(exception.getMessage(), "No member with such id");
+        assertEquals(exception.getMessage(), "No book with such id");
+        verify(memberRepository, never()).insertBorrowing(1L, 1L);
     }
 
     @Test
     void borrowBookLimitReachedTest() {
-        borrowingsService.setBookLimit(10);
-        Book book = new Book();
-        book.setId(1L);
-        Member member = new Member();
-        member.setId(1L);
-        for (int i = 0; i < 11; i++) {
-            member.getBooks().add(new Book());
-        }
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+        usePolicy(10);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(memberRepository.countBorrowedBooks(1L)).thenReturn(11L);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowingsService.addBorrowing(1L, 1L));
         assertEquals(exception.getMessage(), "Borrowing limit reached for this member");
+        verify(bookRepository, never()).borrowCopyIfAvailable(1L);
     }
 
     @Test
-    void borrowBookThatAlreadyBorrowedTest() {
-        borrowingsService.setBookLimit(10);
-        Book book = new Book();
-        book.setId(1L);
-        book.setTitle("My book");
-        book.setAuthor("Me)");
-        Member member = new Member();
-        member.setId(1L);
-        member.getBooks().add(book);
+    void borrowBookAtExactLimitTest() {
+        usePolicy(10);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(memberRepository.countBorrowedBooks(1L)).thenReturn(10L);
 
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowingsService.addBorrowing(1L, 1L));
+        assertEquals("Borrowing limit reached for this member", exception.getMessage());
+        verify(bookRepository, never()).borrowCopyIfAvailable(1L);
+    }
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+    @Test
+    void borrowBookWithTierLimitTest() {
+        usePolicy(new BorrowingPolicy(1, Map.of(MemberTier.PREMIUM, 5), null, null));
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("PREMIUM"));
+        when(memberRepository.countBorrowedBooks(1L)).thenReturn(4L);
+        when(bookRepository.borrowCopyIfAvailable(1L)).thenReturn(1);
+
+        borrowingsService.addBorrowing(1L, 1L);
+        verify(memberRepository).insertBorrowing(1L, 1L);
+        verify(bookRepository, never()).findSummaryById(1L);
+    }
+
+    @Test
+    void borrowBookWithTitleLimitReachedTest() {
+        usePolicy(new BorrowingPolicy(10, null, List.of(new BorrowingPolicy.TitleLimit("Dune", "Frank Herbert", 2)), null));
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(bookRepository.findSummaryById(1L)).thenReturn(Optional.of(new BookSummaryDto(1L, "Dune", "Frank Herbert", 3)));
+        when(bookRepository.countLoansByTitleAndAuthor("Dune", "Frank Herbert")).thenReturn(2L);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowingsService.addBorrowing(1L, 1L));
-        assertEquals(exception.getMessage(), "The book has already been borrowed by this user");
+        assertEquals("Loan limit reached for this title", exception.getMessage());
+        verify(bookRepository, never()).borrowCopyIfAvailable(1L);
     }
 
     @Test
-    void borrowBookWithNoSuchBookInStockTest() {
-        borrowingsService.setBookLimit(10);
-        Book book = new Book();
-        book.setId(1L);
-        book.setAmount(0);
+    void borrowBookThatAlreadyBorrowedTest() {
+        usePolicy(10);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(memberRepository.countBorrowedBooks(1L)).thenReturn(1L);
+        when(memberRepository.existsBorrowing(1L, 1L)).thenReturn(true);
 
-        Member member = new Member();
-        member.setId(1L);
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowingsService.addBorrowing(1L, 1L));
+        assertEquals(exception.getMessage(), "The book has already been borrowed by this user");
+        verify(bookRepository, never()).borrowCopyIfAvailable(1L);
+    }
 
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+    @Test
+    void borrowBookWithNoSuchBookInStockTest() {
+        usePolicy(10);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(bookRepository.borrowCopyIfAvailable(1L)).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(true);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowingsService.addBorrowing(1L, 1L));
         assertEquals(exception.getMessage(), "There are no such books");
+        verify(memberRepository, never()).insertBorrowing(1L, 1L);
     }
 
     @Test
     void successfulBorrowBookTest() {
-        borrowingsService.setBookLimit(10);
-        Book book = new Book();
-        book.setId(1L);
-        book.setAmount(1);
-
-        Member member = new Member();
-        member.setId(1L);
-
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+        usePolicy(10);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(bookRepository.borrowCopyIfAvailable(1L)).thenReturn(1);
 
         borrowingsService.addBorrowing(1L, 1L);
-        assertEquals(book.getAmount(), 0);
-        assertEquals(book.getMembers().size(), 1);
-        assertEquals(member.getBooks().size(), 1);
+        verify(memberRepository).insertBorrowing(1L, 1L);
+        verify(memberRepository, never()).findById(1L);
+        verify(bookRepository, never()).findById(1L);
+        assertLoanEvent(LoanEvent.Type.BORROW, List.of(1L));
+        verify(stockOutbox).record(StockChangeType.BORROWED, 1L, List.of(1L));
     }
 
     @Test
     void returnBookWithNoSuchBookTest() {
-        when(bookRepository.findById(1L)).thenReturn(Optional.empty());
+        when(memberRepository.deleteBorrowings(1L, List.of(1L))).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(false);
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> borrowingsService.returnBook(1L, 1L));
         assertEquals("No book with such id", exception.getMessage());
     }
 
     @Test
     void returnBookWithNoSuchMemberTest() {
-        Book book = new Book();
-        book.setId(1L);
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.empty());
+        when(memberRepository.deleteBorrowings(1L, List.of(1L))).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(memberRepository.existsById(1L)).thenReturn(false);
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> borrowingsService.returnBook(1L, 1L));
         assertEquals("No member with such id", exception.getMessage());
     }
 
     @Test
     void returnBookNotBorrowedByMemberTest() {
-        Book book = new Book();
-        book.setId(1L);
-        book.setAmount(1);
-        Member member = new Member();
-        member.setId(1L);
-
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+        when(memberRepository.deleteBorrowings(1L, List.of(1L))).thenReturn(0);
+        when(bookRepository.existsById(1L)).thenReturn(true);
+        when(memberRepository.existsById(1L)).thenReturn(true);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> borrowingsService.returnBook(1L, 1L));
         assertEquals("Member didn't borrow this book", exception.getMessage());
+        verify(bookRepository, never()).returnCopies(List.of(1L));
+        verifyNoInteractions(eventPublisher, stockOutbox);
     }
 
     @Test
     void successfulReturnBookTest() {
-        Book book = new Book();
-        book.setId(1L);
-        book.setAmount(1);
-
-        Member member = new Member();
-        member.setId(1L);
-        member.addBook(book);
-
-        when(bookRepository.findById(1L)).thenReturn(Optional.of(book));
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(member));
+        when(memberRepository.deleteBorrowings(1L, List.of(1L))).thenReturn(1);
 
         borrowingsService.returnBook(1L, 1L);
 
-        assertEquals(book.getAmount(), 2);
-        assertEquals(book.getMembers().size(), 0);
-        assertEquals(member.getBooks().size(), 0);
+        verify(bookRepository).returnCopies(List.of(1L));
+        verify(memberRepository, never()).findById(1L);
+        verify(bookRepository, never()).findById(1L);
+        assertLoanEvent(LoanEvent.Type.RETURN, List.of(1L));
+        verify(stockOutbox).record(StockChangeType.RETURNED, 1L, List.of(1L));
     }
 
     @Test
     void findBorrowedBooksByMemberNameWithNoSuchMemberTest() {
-        when(memberRepository.findByName("Member")).thenReturn(null);
+        when(memberRepository.findBorrowedBooksByMemberName("Member")).thenReturn(List.of());
+        when(memberRepository.existsByName("Member")).thenReturn(false);
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> borrowingsService.findBorrowedBooksByMemberName("Member"));
         assertEquals("No member found with name: Member", exception.getMessage());
     }
 
     @Test
     void findBorrowedBooksByMemberNameTest() {
-        Member member = new Member();
-        member.setName("Member");
-
-        Book book1 = new Book();
-        book1.setTitle("Book 1");
-        Book book2 = new Book();
-        book2.setTitle("Book 2");
-
-        Set<Book> borrowedBooks = new HashSet<>();
-        borrowedBooks.add(book1);
-        borrowedBooks.add(book2);
+        List<BorrowedBookDto> borrowedBooks = List.of(
+                new BorrowedBookDto(1L, 1L, "Book 1", "Some Author"),
+                new BorrowedBookDto(1L, 2L, "Book 2", "Some Author"),
+                new BorrowedBookDto(2L, 1L, "Book 1", "Some Author")
+        );
+        when(memberRepository.findBorrowedBooksByMemberName("Member")).thenReturn(borrowedBooks);
 
-        member.addBook(book1);
-        member.addBook(book2);
+        List<BorrowedBookDto> resultBooks = borrowingsService.findBorrowedBooksByMemberName("Member");
 
-        when(memberRepository.findByName("Member")).thenReturn(member);
+        assertEquals(borrowedBooks, resultBooks);
+        verify(memberRepository, never()).existsByName("Member");
+    }
 
-        Set<Book> resultBooks = borrowingsService.findBorrowedBooksByMemberName("Member");
+    @Test
+    void findBorrowedBooksByMemberNameWithoutBorrowingsTest() {
+        when(memberRepository.findBorrowedBooksByMemberName("Member")).thenReturn(List.of());
+        when(memberRepository.existsByName("Member")).thenReturn(true);
 
-        assertEquals(borrowedBooks, resultBooks);
+        assertEquals(List.of(), borrowingsService.findBorrowedBooksByMemberName("Member"));
     }
 
     @Test
@@ -231,5 +293,155 @@ public class BorrowingsServiceTest {
         assertEquals(bookDtos, result);
     }
 
+    @Test
+    void exportBorrowingsAsNdjsonTest() throws IOException {
+        when(memberRepository.streamBorrowings(5L)).thenReturn(Stream.of(
+                new BorrowingExportDto(5L, "Member", 1L, "Book 1"),
+                new BorrowingExportDto(5L, "Member", 2L, "Book 2")
+        ));
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        borrowingsService.exportBorrowings(5L, outputStream);
+
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{"));
+        assertEquals(new BorrowingExportDto(5L, "Member", 2L, "Book 2"), objectMapper.readValue(lines[1], BorrowingExportDto.class));
+    }
+
+    @Test
+    void exportBorrowingsFromStartTest() throws IOException {
+        when(memberRepository.streamBorrowings(0L)).thenReturn(Stream.empty());
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        borrowingsService.exportBorrowings(null, outputStream);
+
+        assertEquals(0, outputStream.size());
+    }
+
+    @Test
+    void addBorrowingsBatchTest() {
+        usePolicy(10);
+        List<Long> bookIds = List.of(1L, 2L, 3L, 4L, 1L);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(bookRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L, 3L));
+        when(memberRepository.findBorrowedBookIds(eq(1L), anyCollection())).thenReturn(List.of(2L));
+        when(memberRepository.countBorrowedBooks(1L)).thenReturn(1L);
+        when(bookRepository.borrowCopyIfAvailable(1L)).thenReturn(1);
+        when(bookRepository.borrowCopyIfAvailable(3L)).thenReturn(0);
+
+        List<BatchItemResultDto> results = borrowingsService.addBorrowings(1L, bookIds);
+
+        assertEquals(List.of(
+                new BatchItemResultDto(1L, BatchOutcome.OK),
+                new BatchItemResultDto(2L, BatchOutcome.ALREADY_BORROWED),
+                new BatchItemResultDto(3L, BatchOutcome.OUT_OF_STOCK),
+                new BatchItemResultDto(4L, BatchOutcome.NOT_FOUND),
+                new BatchItemResultDto(1L, BatchOutcome.ALREADY_BORROWED)
+        ), results);
+        verify(memberRepository).insertBorrowings(1L, Set.of(1L));
+        assertLoanEvent(LoanEvent.Type.BORROW, List.of(1L));
+    }
+
+    @Test
+    void addBorrowingsBatchLimitReachedTest() {
+        usePolicy(2);
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(bookRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L, 3L));
+        when(memberRepository.countBorrowedBooks(1L)).thenReturn(1L);
+        when(bookRepository.borrowCopyIfAvailable(anyLong())).thenReturn(1);
+
+        List<BatchItemResultDto> results = borrowingsService.addBorrowings(1L, List.of(1L, 2L, 3L));
+
+        assertEquals(BatchOutcome.OK, results.get(0).outcome());
+        assertEquals(BatchOutcome.LIMIT, results.get(1).outcome());
+        assertEquals(BatchOutcome.LIMIT, results.get(2).outcome());
+        verify(bookRepository, never()).borrowCopyIfAvailable(2L);
+    }
+
+    @Test
+    void addBorrowingsBatchWithTitleRulesTest() {
+        usePolicy(new BorrowingPolicy(10, null, List.of(new BorrowingPolicy.TitleLimit("Dune", "Frank Herbert", 1)), List.of(
+                new BorrowingPolicy.Blackout(Instant.now().minusSeconds(60), Instant.now().plusSeconds(60), Set.of("Emma"), null))));
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.of("STANDARD"));
+        when(bookRepository.findByIdIn(anyCollection())).thenReturn(List.of(
+                new BookSummaryDto(1L, "Dune", "Frank Herbert", 3),
+                new BookSummaryDto(2L, "Dune", "Brian Herbert", 3),
+                new BookSummaryDto(3L, "Emma", "Jane Austen", 3)));
+        when(bookRepository.countLoansByTitleAndAuthor("Dune", "Frank Herbert")).thenReturn(1L);
+        when(bookRepository.borrowCopyIfAvailable(anyLong())).thenReturn(1);
+
+        List<BatchItemResultDto> results = borrowingsService.addBorrowings(1L, List.of(1L, 2L, 3L));
+
+        assertEquals(List.of(
+                new BatchItemResultDto(1L, BatchOutcome.TITLE_LIMIT),
+                new BatchItemResultDto(2L, BatchOutcome.OK),
+                new BatchItemResultDto(3L, BatchOutcome.BLACKOUT)
+        ), results);
+        verify(bookRepository, never()).countLoansByTitleAndAuthor("Dune", "Brian Herbert");
+        verify(memberRepository).insertBorrowings(1L, Set.of(2L));
+    }
+
+    @Test
+    void addBorrowingsBatchWithNoSuchMemberTest() {
+        when(memberRepository.lockTierById(1L)).thenReturn(Optional.empty());
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> borrowingsService.addBorrowings(1L, List.of(1L)));
+        assertEquals("No member with such id", exception.getMessage());
+    }
+
+    @Test
+    void returnBooksBatchTest() {
+        when(memberRepository.lockById(1L)).thenReturn(Optional.of(1L));
+        when(bookRepository.findExistingIds(anyCollection())).thenReturn(List.of(1L, 2L));
+        when(memberRepository.findBorrowedBookIds(eq(1L), anyCollection())).thenReturn(List.of(1L));
+
+        List<BatchItemResultDto> results = borrowingsService.returnBooks(1L, List.of(1L, 2L, 3L, 1L));
+
+        assertEquals(List.of(
+                new BatchItemResultDto(1L, BatchOutcome.OK),
+                new BatchItemResultDto(2L, BatchOutcome.NOT_BORROWED),
+                new BatchItemResultDto(3L, BatchOutcome.NOT_FOUND),
+                new BatchItemResultDto(1L, BatchOutcome.NOT_BORROWED)
+        ), results);
+        verify(memberRepository).deleteBorrowings(1L, Set.of(1L));
+        verify(bookRepository).returnCopies(Set.of(1L));
+        verify(stockOutbox).record(StockChangeType.RETURNED, 1L, Set.of(1L));
+        assertLoanEvent(LoanEvent.Type.RETURN, List.of(1L));
+    }
+
+    @Test
+    void getBookHistoryPageTest() {
+        List<LoanEventDto> rows = List.of(
+                new LoanEventDto(9L, LoanEvent.Type.RETURN, 2L, 1L, Instant.parse("2026-09-02T10:00:00Z")),
+                new LoanEventDto(7L, LoanEvent.Type.BORROW, 2L, 1L, Instant.parse("2026-09-01T10:00:00Z")),
+                new LoanEventDto(4L, LoanEvent.Type.RETURN, 3L, 1L, Instant.parse("2026-08-20T10:00:00Z")));
+        when(loanHistoryRepository.findByBookId(1L, Instant.EPOCH, Long.MAX_VALUE, 3)).thenReturn(rows);
 
+        PageDto<LoanEventDto> page = borrowingsService.getBookHistory(1L, null, null, 2);
+
+        assertEquals(rows.subList(0, 2), page.items());
+        assertEquals(7L, PageDto.afterId(page.nextCursor()));
+    }
+
+    @Test
+    void getMemberHistoryFromCursorTest() {
+        Instant from = Instant.parse("2026-09-01T00:00:00Z");
+        List<LoanEventDto> rows = List.of(new LoanEventDto(4L, LoanEvent.Type.BORROW, 2L, 5L, from.plusSeconds(60)));
+        when(loanHistoryRepository.findByMemberId(2L, from, 7L, 3)).thenReturn(rows);
+
+        String cursor = Base64.getUrlEncoder().withoutPadding().encodeToString("id:7".getBytes(StandardCharsets.UTF_8));
+
+        PageDto<LoanEventDto> page = borrowingsService.getMemberHistory(2L, from, cursor, 2);
+
+        assertEquals(rows, page.items());
+        assertNull(page.nextCursor());
+    }
+
+    private void assertLoanEvent(LoanEvent.Type type, List<Long> bookIds) {
+        ArgumentCaptor<LoanEvent> event = ArgumentCaptor.forClass(LoanEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(type, event.getValue().type());
+        assertEquals(1L, event.getValue().memberId());
+        assertEquals(bookIds, event.getValue().bookIds());
+    }
 }
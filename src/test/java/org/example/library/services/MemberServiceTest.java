@@ -1,19 +1,31 @@
 package org.example.library.services;
 
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.dto.MemberDetailsDto;
+import org.example.library.dto.MemberProfileDto;
+import org.example.library.dto.MemberSummaryDto;
+import org.example.library.dto.PageDto;
 import org.example.library.entities.Book;
 import org.example.library.entities.Member;
+import org.example.library.entities.MemberTier;
 import org.example.library.repositories.MemberRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Limit;
 
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class MemberServiceTest {
@@ -45,12 +57,33 @@ public class MemberServiceTest {
     void getExistedMemberByIdTest() {
         Member expectedMember = new Member();
         expectedMember.setId(1L);
+        expectedMember.setName("Member");
 
         when(memberRepository.findById(1L)).thenReturn(Optional.of(expectedMember));
-        Member actualMember = memberService.getMemberById(1L);
+        MemberProfileDto actualMember = memberService.getMemberById(1L);
 
         assertNotNull(actualMember);
-        assertEquals(expectedMember, actualMember);
+        assertEquals(new MemberProfileDto(1L, "Member", null, MemberTier.STANDARD), actualMember);
+    }
+
+    @Test
+    void getExistedMemberWithBooksByIdTest() {
+        Member expectedMember = new Member();
+        expectedMember.setId(1L);
+        expectedMember.setName("Member");
+        Book borrowedBook = new Book();
+        borrowedBook.setId(2L);
+        borrowedBook.setTitle("Book");
+        borrowedBook.setAuthor("Some Author");
+        borrowedBook.setAmount(3);
+        expectedMember.getBooks().add(borrowedBook);
+
+        when(memberRepository.findWithBooksById(1L)).thenReturn(Optional.of(expectedMember));
+        MemberDetailsDto actualMember = memberService.getMemberWithBooksById(1L);
+
+        assertEquals(new MemberDetailsDto(1L, "Member", null, MemberTier.STANDARD,
+                List.of(new BorrowedBookDto(1L, 2L, "Book", "Some Author"))), actualMember);
+        verify(memberRepository, never()).findById(1L);
     }
 
     @Test
@@ -86,6 +119,33 @@ public class MemberServiceTest {
 
     }
 
+    @Test
+    void updateKeepsTierTest() {
+        Member existedMember = new Member();
+        existedMember.setId(1L);
+        existedMember.setName("Member");
+        existedMember.setTier(MemberTier.STAFF);
+
+        Member dataMember = new Member();
+        dataMember.setName("Updated member");
+
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(existedMember));
+
+        assertEquals(MemberTier.STAFF, memberService.updateById(1L, dataMember).getTier());
+    }
+
+    @Test
+    void updateTierTest() {
+        Member existedMember = new Member();
+        existedMember.setId(1L);
+        existedMember.setName("Member");
+
+        when(memberRepository.findById(1L)).thenReturn(Optional.of(existedMember));
+
+        assertEquals(MemberTier.PREMIUM, memberService.updateTierById(1L, MemberTier.PREMIUM).getTier());
+        assertThrows(IllegalArgumentException.class, () -> memberService.updateTierById(1L, null));
+    }
+
     @Test
     void updateNotExistedBookTest() {
         Member dataMember = new Member();
@@ -104,16 +164,19 @@ public class MemberServiceTest {
         existedMember.setId(1L);
         existedMember.setName("John Doe");
 
-        when(memberRepository.findById(existedMember.getId())).thenReturn(Optional.of(existedMember));
+        when(memberRepository.lockById(existedMember.getId())).thenReturn(Optional.of(existedMember.getId()));
+        when(memberRepository.countBorrowedBooks(existedMember.getId())).thenReturn(0L);
 
         assertDoesNotThrow(() -> memberService.deleteById(existedMember.getId()));
+        verify(memberRepository).deleteById(existedMember.getId());
+        verify(memberRepository, never()).findById(existedMember.getId());
 
     }
 
     @Test
     void deleteNotExistedMemberTest() {
 
-        when(memberRepository.findById(1L)).thenReturn(Optional.empty());
+        when(memberRepository.lockById(1L)).thenReturn(Optional.empty());
 
         NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> memberService.deleteById(1L));
         assertEquals("No member with such id", exception.getMessage());
@@ -122,17 +185,25 @@ public class MemberServiceTest {
     @Test
     void deleteExistedMemberWithBorrowedBooksTest() {
 
-        Member existedMember = new Member();
-        existedMember.setId(1L);
-        existedMember.setName("John Doe");
-        Book borrowedBook = new Book();
-        borrowedBook.setId(1L);
-        existedMember.getBooks().add(borrowedBook);
-
-        when(memberRepository.findById(1L)).thenReturn(Optional.of(existedMember));
+        when(memberRepository.lockById(1L)).thenReturn(Optional.of(1L));
+        when(memberRepository.countBorrowedBooks(1L)).thenReturn(2L);
 
         IllegalStateException exception = assertThrows(IllegalStateException.class, () -> memberService.deleteById(1L));
         assertEquals("Member cannot be deleted because he borrowed books.", exception.getMessage());
+        verify(memberRepository, never()).deleteById(1L);
     }
 
+    @Test
+    void getMembersPageByNamePrefixTest() {
+        List<MemberSummaryDto> rows = List.of(
+                new MemberSummaryDto(1L, "Member 1", null),
+                new MemberSummaryDto(2L, "Member 2", null)
+        );
+        when(memberRepository.findByIdGreaterThanAndNameStartingWithOrderByIdAsc(eq(0L), eq("Mem"), any(Limit.class))).thenReturn(rows);
+
+        PageDto<MemberSummaryDto> page = memberService.getMembersPage(null, null, "Mem");
+
+        assertEquals(rows, page.items());
+        assertNull(page.nextCursor());
+    }
 }
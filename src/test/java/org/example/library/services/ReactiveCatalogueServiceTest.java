@@ -0,0 +1,83 @@
+package org.example.library.services;
+
+import org.example.library.dto.BookSummaryDto;
+import org.example.library.dto.BorrowedBookDto;
+import org.example.library.repositories.ReactiveCatalogueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class ReactiveCatalogueServiceTest {
+
+    @Mock
+    private ReactiveCatalogueRepository catalogueRepository;
+
+    @InjectMocks
+    private ReactiveCatalogueService catalogueService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+    }
+
+    @Test
+    void getBookByIdTest() {
+        BookSummaryDto book = new BookSummaryDto(1L, "Book", "Some Author", 2);
+        when(catalogueRepository.findBookById(1L)).thenReturn(Mono.just(book));
+
+        assertEquals(book, catalogueService.getBookById(1L).block());
+    }
+
+    @Test
+    void getBookByIdWithNoSuchBookTest() {
+        when(catalogueRepository.findBookById(1L)).thenReturn(Mono.empty());
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> catalogueService.getBookById(1L).block());
+        assertEquals("No book with such id", exception.getMessage());
+    }
+
+    @Test
+    void getBooksStartsFromBeginningWithoutCursorTest() {
+        when(catalogueRepository.findBooks(0L)).thenReturn(Flux.just(new BookSummaryDto(1L, "Book", "Some Author", 2)));
+
+        assertEquals(1, catalogueService.getBooks(null).collectList().block().size());
+    }
+
+    @Test
+    void findBorrowedBooksByMemberNameTest() {
+        List<BorrowedBookDto> books = List.of(new BorrowedBookDto(1L, 1L, "Book", "Some Author"), new BorrowedBookDto(2L, 1L, "Book", "Some Author"), new BorrowedBookDto(2L, 2L, "Other book", "Some Author"));
+        when(catalogueRepository.findBorrowedBooksByMemberName("Member")).thenReturn(Flux.fromIterable(books));
+        when(catalogueRepository.existsMemberByName("Member")).thenReturn(Mono.just(true));
+
+        assertEquals(books, catalogueService.findBorrowedBooksByMemberName("Member").collectList().block());
+    }
+
+    @Test
+    void findBorrowedBooksByMemberNameWithoutBorrowingsTest() {
+        when(catalogueRepository.findBorrowedBooksByMemberName("Member")).thenReturn(Flux.empty());
+        when(catalogueRepository.existsMemberByName("Member")).thenReturn(Mono.just(true));
+
+        assertTrue(catalogueService.findBorrowedBooksByMemberName("Member").collectList().block().isEmpty());
+    }
+
+    @Test
+    void findBorrowedBooksByMemberNameWithNoSuchMemberTest() {
+        when(catalogueRepository.findBorrowedBooksByMemberName("Member")).thenReturn(Flux.empty());
+        when(catalogueRepository.existsMemberByName("Member")).thenReturn(Mono.just(false));
+
+        NoSuchElementException exception = assertThrows(NoSuchElementException.class, () -> catalogueService.findBorrowedBooksByMemberName("Member").collectList().block());
+        assertEquals("No member found with name: Member", exception.getMessage());
+    }
+}
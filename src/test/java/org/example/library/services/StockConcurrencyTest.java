@@ -0,0 +1,228 @@
+package org.example.library.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.example.library.entities.Book;
+import org.example.library.entities.Member;
+import org.example.library.repositories.BookRepository;
+import org.example.library.repositories.MemberRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Testcontainers(disabledWithoutDocker = true)
+@SpringBootTest(properties = "library.retry.defaults.max-attempts=100")
+public class StockConcurrencyTest {
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    @Autowired
+    private BorrowingsService borrowingsService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private MemberRepository memberRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.execute("truncate table borrowings, books, members, loan_events, stock_outbox");
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void concurrentBorrowsNeverOversellTest() throws Exception {
+        int copies = 5;
+        int borrowers = 64;
+
+        Book book = new Book();
+        book.setTitle("Concurrency " + System.nanoTime());
+        book.setAuthor("Test Author");
+        book.setAmount(copies);
+        Long bookId = bookRepository.save(book).getId();
+
+        List<Long> memberIds = new ArrayList<>();
+        for (int i = 0; i < borrowers; i++) {
+            Member member = new Member();
+            member.setName("Borrower " + i);
+            memberIds.add(memberRepository.save(member).getId());
+        }
+
+        AtomicInteger borrowed = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(borrowers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long memberId : memberIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                try {
+                    borrowingsService.addBorrowing(memberId, bookId);
+                    borrowed.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    rejected.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        awaitAll(executor, futures);
+
+        assertEquals(copies, borrowed.get());
+        assertEquals(borrowers - copies, rejected.get());
+        assertEquals(0, bookRepository.findById(bookId).orElseThrow(NoSuchElementException::new).getAmount());
+    }
+
+    @Test
+    void concurrentVersionedUpdatesRetryConflictsTest() throws Exception {
+        int writers = 32;
+
+        Book book = new Book();
+        book.setTitle("Versioned " + System.nanoTime());
+        book.setAuthor("Test Author");
+        book.setAmount(1);
+        Long bookId = bookRepository.save(book).getId();
+        double retriesBefore = retries("book-update");
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            String title = "Versioned " + i + " " + System.nanoTime();
+            futures.add(executor.submit(() -> {
+                start.await();
+                Book update = new Book();
+                update.setTitle(title);
+                update.setAuthor("Test Author");
+                bookService.updateById(bookId, update);
+                return null;
+            }));
+        }
+        start.countDown();
+        awaitAll(executor, futures);
+
+        assertEquals((long) writers, bookRepository.findById(bookId).orElseThrow(NoSuchElementException::new).getVersion());
+        assertTrue(retries("book-update") > retriesBefore);
+    }
+
+    @Test
+    void concurrentSavesAndReturnsDoNotLoseIncrementsTest() throws Exception {
+        int writers = 64;
+        int returners = writers / 2;
+
+        Book book = new Book();
+        book.setTitle("Stock " + System.nanoTime());
+        book.setAuthor("Test Author");
+        book.setAmount(returners);
+        Book savedBook = bookRepository.save(book);
+
+        List<Long> memberIds = new ArrayList<>();
+        for (int i = 0; i < returners; i++) {
+            Member member = new Member();
+            member.setName("Returner " + i);
+            Long memberId = memberRepository.save(member).getId();
+            borrowingsService.addBorrowing(memberId, savedBook.getId());
+            memberIds.add(memberId);
+        }
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers - returners; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                Book copy = new Book();
+                copy.setTitle(savedBook.getTitle());
+                copy.setAuthor(savedBook.getAuthor());
+                bookService.saveBook(copy);
+                return null;
+            }));
+        }
+        for (Long memberId : memberIds) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                borrowingsService.returnBook(memberId, savedBook.getId());
+                return null;
+            }));
+        }
+        start.countDown();
+        awaitAll(executor, futures);
+
+        assertEquals(writers, bookRepository.findById(savedBook.getId()).orElseThrow(NoSuchElementException::new).getAmount());
+    }
+
+    @Test
+    void concurrentIdenticalSavesCreateSingleRowTest() throws Exception {
+        int writers = 100;
+        String title = "Upsert " + System.nanoTime();
+
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < writers; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                Book book = new Book();
+                book.setTitle(title);
+                book.setAuthor("Test Author");
+                bookService.saveBook(book);
+                return null;
+            }));
+        }
+        start.countDown();
+        awaitAll(executor, futures);
+
+        List<Book> books = bookRepository.findByTitleIn(List.of(title));
+        assertEquals(1, books.size());
+        assertEquals(writers, books.get(0).getAmount());
+    }
+
+    private double retries(String operation) {
+        Counter counter = meterRegistry.find("library.retry.retries").tag("operation", operation).counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void awaitAll(ExecutorService executor, List<Future<?>> futures) throws InterruptedException, ExecutionException {
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        for (Future<?> future : futures) {
+            future.get();
+        }
+    }
+}
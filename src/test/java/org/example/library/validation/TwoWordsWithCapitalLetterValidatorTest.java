@@ -0,0 +1,72 @@
+package org.example.library.validation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TwoWordsWithCapitalLetterValidatorTest {
+    private static final String[] FRAGMENTS = {
+            " ", " ", "  ", "a", "b", "A", "B", "Ж", "ж", "\t", " ", "-", ".",
+            "𝐀", "𝐚", "𐐀", "\uD801"
+    };
+
+    private final TwoWordsWithCapitalLetterValidator validator = new TwoWordsWithCapitalLetterValidator();
+
+    @Test
+    void acceptsTwoCapitalizedWordsTest() {
+        assertTrue(validator.isValid("John Smith", null));
+        assertTrue(validator.isValid("John Smith   ", null));
+        assertTrue(validator.isValid("Жан Жук", null));
+        assertTrue(validator.isValid("J S", null));
+    }
+
+    @Test
+    void rejectsMalformedNamesTest() {
+        assertFalse(validator.isValid(null, null));
+        assertFalse(validator.isValid("", null));
+        assertFalse(validator.isValid("   ", null));
+        assertFalse(validator.isValid("John", null));
+        assertFalse(validator.isValid("John ", null));
+        assertFalse(validator.isValid(" John Smith", null));
+        assertFalse(validator.isValid(" John", null));
+        assertFalse(validator.isValid("John  Smith", null));
+        assertFalse(validator.isValid("John Smith Jr", null));
+        assertFalse(validator.isValid("john Smith", null));
+        assertFalse(validator.isValid("John smith", null));
+        assertFalse(validator.isValid("John\tSmith", null));
+        assertFalse(validator.isValid("𝐀 𝐁", null));
+    }
+
+    @Test
+    void matchesSplitBasedImplementationTest() {
+        Random random = new Random(20240611L);
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder builder = new StringBuilder();
+            int fragments = random.nextInt(8);
+            for (int j = 0; j < fragments; j++) {
+                builder.append(FRAGMENTS[random.nextInt(FRAGMENTS.length)]);
+            }
+            String value = builder.toString();
+            assertEquals(splitBasedIsValid(value), validator.isValid(value, null), () -> "Mismatch for [" + value + "]");
+        }
+    }
+
+    private static boolean splitBasedIsValid(String s) {
+        if (s == null || s.isEmpty()) {
+            return false;
+        }
+        String[] words = s.split(" ");
+        if (words.length != 2) {
+            return false;
+        }
+        try {
+            return Character.isUpperCase(words[0].charAt(0)) && Character.isUpperCase(words[1].charAt(0));
+        } catch (StringIndexOutOfBoundsException e) {
+            return false;
+        }
+    }
+}